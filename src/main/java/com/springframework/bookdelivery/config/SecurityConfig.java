@@ -1,10 +1,20 @@
 package com.springframework.bookdelivery.config;
 
+import com.springframework.bookdelivery.enums.AuthenticationMode;
+import com.springframework.bookdelivery.enums.RefreshTokenStoreType;
+import com.springframework.bookdelivery.repository.RefreshTokenRepository;
+import com.springframework.bookdelivery.security.BoundedPasswordEncoder;
 import com.springframework.bookdelivery.security.CustomUserDetailsService;
 import com.springframework.bookdelivery.security.jwt.AuthEntryPointJwt;
 import com.springframework.bookdelivery.security.jwt.AuthTokenFilter;
-import com.springframework.bookdelivery.security.jwt.JwtUtils;
+import com.springframework.bookdelivery.security.jwt.JwtTokenVerifier;
+import com.springframework.bookdelivery.security.jwt.TokenDenyList;
+import com.springframework.bookdelivery.security.token.DatabaseRefreshTokenStore;
+import com.springframework.bookdelivery.security.token.IndexedRefreshTokenStore;
+import com.springframework.bookdelivery.security.token.RefreshTokenStore;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -15,15 +25,20 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.util.ClassUtils;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Configuration
 @EnableWebSecurity
@@ -35,26 +50,87 @@ public class SecurityConfig {
 
     private final AuthEntryPointJwt authEntryPointJwt;
 
-    private final JwtUtils jwtUtils;
+    private final JwtTokenVerifier jwtTokenVerifier;
+
+    private final TokenDenyList tokenDenyList;
 
     /**
      * Bean for password encoding.
+     * <p>New passwords are encoded with {@code security.password.encoding}. Stored passwords are
+     * matched by the id prefix of their hash; hashes without a prefix are BCrypt hashes from before
+     * the prefix was introduced. After a successful login a hash that uses another algorithm or a
+     * lower BCrypt cost is encoded again. Argon2 is offered only if BouncyCastle is on the classpath.</p>
+     * <p>All hashing runs on a bounded pool, see {@link BoundedPasswordEncoder}.</p>
      *
+     * @param encodingId     The id of the algorithm used for new hashes.
+     * @param bcryptStrength The BCrypt cost used for new hashes.
+     * @param threads        The number of threads computing hashes.
+     * @param queueCapacity  The number of hash computations that may wait for a thread.
+     * @param timeoutMs      How long a request waits for its hash before giving up.
+     * @param meterRegistry  The registry for the hashing pool metrics.
      * @return The password encoder bean.
      */
+    @Bean(destroyMethod = "shutdown")
+    public BoundedPasswordEncoder passwordEncoder(
+            @Value("${security.password.encoding}") String encodingId,
+            @Value("${security.password.bcrypt-strength}") int bcryptStrength,
+            @Value("${security.password.hashing.threads}") int threads,
+            @Value("${security.password.hashing.queue-capacity}") int queueCapacity,
+            @Value("${security.password.hashing.timeout-ms}") long timeoutMs,
+            MeterRegistry meterRegistry
+    ) {
+        final BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+
+        final Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", bcrypt);
+        if (ClassUtils.isPresent("org.bouncycastle.crypto.generators.Argon2BytesGenerator", null)) {
+            encoders.put("argon2", Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        }
+
+        final DelegatingPasswordEncoder delegatingPasswordEncoder = new DelegatingPasswordEncoder(encodingId, encoders);
+        delegatingPasswordEncoder.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        return new BoundedPasswordEncoder(delegatingPasswordEncoder, threads, queueCapacity, timeoutMs, meterRegistry);
+    }
+
+    /**
+     * Bean for the refresh token store selected by {@code security.refresh-token.store}.
+     *
+     * @param storeType              The kind of store to be used.
+     * @param indexMaxSize           The maximum number of tokens held by the in-memory index.
+     * @param refreshTokenRepository The repository of the REFRESH_TOKENS table.
+     * @param meterRegistry          The registry for the index metrics.
+     * @return The refresh token store bean.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public RefreshTokenStore refreshTokenStore(
+            @Value("${security.refresh-token.store}") RefreshTokenStoreType storeType,
+            @Value("${security.refresh-token.index.max-size}") long indexMaxSize,
+            RefreshTokenRepository refreshTokenRepository,
+            MeterRegistry meterRegistry
+    ) {
+        final DatabaseRefreshTokenStore database = new DatabaseRefreshTokenStore(refreshTokenRepository);
+
+        return switch (storeType) {
+            case DATABASE -> database;
+            case INDEXED -> new IndexedRefreshTokenStore(database, indexMaxSize, meterRegistry);
+        };
     }
 
     /**
      * Bean for JWT authentication filter.
      *
+     * @param authenticationMode    How the principal is built from a verified token.
+     * @param diagnosticsSampleRate One in how many requests logs its authentication time at DEBUG level.
      * @return The JWT authentication filter bean.
      */
     @Bean
-    public AuthTokenFilter jwtAuthenticationFilter() {
-        return new AuthTokenFilter(jwtUtils, customUserDetailsService);
+    public AuthTokenFilter jwtAuthenticationFilter(
+            @Value("${security.authentication.mode}") AuthenticationMode authenticationMode,
+            @Value("${security.authentication.diagnostics-sample-rate}") int diagnosticsSampleRate
+    ) {
+        return new AuthTokenFilter(jwtTokenVerifier, customUserDetailsService, tokenDenyList,
+                authenticationMode, diagnosticsSampleRate);
     }
 
     /**
@@ -87,12 +163,13 @@ public class SecurityConfig {
     /**
      * Configure security filters and policies for HTTP requests.
      *
-     * @param httpSecurity The HTTP security configuration.
+     * @param httpSecurity    The HTTP security configuration.
+     * @param authTokenFilter The JWT authentication filter.
      * @return The security filter chain.
      * @throws Exception If an exception occurs during configuration.
      */
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity httpSecurity) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity httpSecurity, AuthTokenFilter authTokenFilter) throws Exception {
 
         httpSecurity
                 .exceptionHandling(customizer -> customizer.authenticationEntryPoint(authEntryPointJwt))
@@ -114,7 +191,7 @@ public class SecurityConfig {
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(customizer -> customizer.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-                .addFilterBefore(jwtAuthenticationFilter(), UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(authTokenFilter, UsernamePasswordAuthenticationFilter.class);
 
         return httpSecurity.build();
 
@@ -1,9 +1,11 @@
 package com.springframework.bookdelivery.controller;
 
 import com.springframework.bookdelivery.dto.BookDTO;
+import com.springframework.bookdelivery.dto.BookSearchDTO;
 import com.springframework.bookdelivery.entity.Book;
 import com.springframework.bookdelivery.mapper.BookMapper;
 import com.springframework.bookdelivery.payload.request.book.BookCreateRequest;
+import com.springframework.bookdelivery.payload.request.book.BookSearchRequest;
 import com.springframework.bookdelivery.payload.request.book.BookUpdateRequest;
 import com.springframework.bookdelivery.payload.request.book.BookUpdateStockRequest;
 import com.springframework.bookdelivery.payload.request.pagination.PaginationRequest;
@@ -112,4 +114,20 @@ public class BookController {
         return CustomResponse.ok(responses);
     }
 
+    /**
+     * Searches {@link Book} entities by name, author and ISBN, best match first.
+     *
+     * @param request The request body containing the words to search for and the cursor of the page.
+     * @return Response containing the matching books and the cursor of the next page.
+     */
+    @PostMapping("/search")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN','ROLE_CUSTOMER')")
+    public CustomResponse<CustomPageResponse<BookGetResponse>> searchBooks(@RequestBody @Valid BookSearchRequest request) {
+        final BookSearchDTO searchResult = bookService.searchBooks(request);
+        final CustomPageResponse<BookGetResponse> responses = BookMapper
+                .toSearchResponse(searchResult);
+
+        return CustomResponse.ok(responses);
+    }
+
 }
@@ -1,21 +1,30 @@
 package com.springframework.bookdelivery.controller;
 
 import com.springframework.bookdelivery.dto.OrderDTO;
+import com.springframework.bookdelivery.dto.OrderIntakeDTO;
 import com.springframework.bookdelivery.mapper.OrderMapper;
 import com.springframework.bookdelivery.payload.request.order.CreateOrderRequest;
+import com.springframework.bookdelivery.payload.request.pagination.CursorFindAllRequest;
+import com.springframework.bookdelivery.payload.request.pagination.CursorPaginationRequest;
 import com.springframework.bookdelivery.payload.request.pagination.PaginatedFindAllRequest;
 import com.springframework.bookdelivery.payload.request.pagination.PaginationRequest;
 import com.springframework.bookdelivery.payload.response.CustomResponse;
+import com.springframework.bookdelivery.payload.response.order.OrderAcceptedResponse;
 import com.springframework.bookdelivery.payload.response.order.OrderCreatedResponse;
 import com.springframework.bookdelivery.payload.response.order.OrderGetBetweenDatesResponse;
 import com.springframework.bookdelivery.payload.response.order.OrderGetByCustomerResponse;
 import com.springframework.bookdelivery.payload.response.order.OrderGetResponse;
+import com.springframework.bookdelivery.payload.response.order.OrderIntakeStatusResponse;
 import com.springframework.bookdelivery.payload.response.pagination.CustomPageResponse;
-import com.springframework.bookdelivery.service.OrderSaveService;
+import com.springframework.bookdelivery.service.OrderCheckoutService;
+import com.springframework.bookdelivery.service.OrderIdempotencyService;
+import com.springframework.bookdelivery.service.OrderIntakeService;
 import com.springframework.bookdelivery.service.OrderService;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -27,18 +36,46 @@ import org.springframework.web.bind.annotation.*;
 public class OrderController {
 
     private final OrderService orderService;
-    private final OrderSaveService orderSaveService;
+    private final OrderCheckoutService orderCheckoutService;
+    private final OrderIntakeService orderIntakeService;
+    private final OrderIdempotencyService orderIdempotencyService;
 
     @PostMapping
     @PreAuthorize("hasAuthority('ROLE_CUSTOMER')")
     @ResponseStatus(HttpStatus.CREATED)
-    public CustomResponse<OrderCreatedResponse> createOrder(@RequestBody CreateOrderRequest createOrderRequest) {
+    public CustomResponse<OrderCreatedResponse> createOrder(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestBody CreateOrderRequest createOrderRequest
+    ) {
+
+        if (idempotencyKey != null && !idempotencyKey.isBlank()) {
+            return CustomResponse.created(orderIdempotencyService.createOrder(idempotencyKey, createOrderRequest));
+        }
 
-        final OrderDTO orderDTO = orderSaveService.createOrder(createOrderRequest);
+        final OrderDTO orderDTO = orderCheckoutService.checkout(createOrderRequest);
         final OrderCreatedResponse response = OrderMapper.toCreatedResponse(orderDTO);
         return CustomResponse.created(response);
     }
 
+    @PostMapping("/async")
+    @PreAuthorize("hasAuthority('ROLE_CUSTOMER')")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public CustomResponse<OrderAcceptedResponse> acceptOrder(@RequestBody @Valid CreateOrderRequest createOrderRequest) {
+
+        final OrderIntakeDTO orderIntakeDTO = orderIntakeService.accept(createOrderRequest);
+        final OrderAcceptedResponse response = OrderMapper.toAcceptedResponse(orderIntakeDTO);
+        return CustomResponse.accepted(response);
+    }
+
+    @GetMapping("/intake/{ticketId}")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN','ROLE_CUSTOMER')")
+    public CustomResponse<OrderIntakeStatusResponse> getOrderIntakeStatus(@PathVariable String ticketId) {
+
+        final OrderIntakeDTO orderIntakeDTO = orderIntakeService.findTicket(ticketId);
+        final OrderIntakeStatusResponse response = OrderMapper.toIntakeStatusResponse(orderIntakeDTO);
+        return CustomResponse.ok(response);
+    }
+
     @GetMapping("/{orderId}")
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN','ROLE_CUSTOMER')")
     public CustomResponse<OrderGetResponse> getOrderById(@PathVariable Long orderId) {
@@ -65,6 +102,22 @@ public class OrderController {
 
     }
 
+    @GetMapping("/customer/{customerId}/cursor")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN','ROLE_CUSTOMER')")
+    public CustomResponse<CustomPageResponse<OrderGetByCustomerResponse>> getOrdersByCustomerIdWithCursor(
+            @PathVariable Long customerId,
+            @RequestBody @Valid CursorPaginationRequest cursorPaginationRequest
+    ) {
+
+        final Slice<OrderDTO> sliceOfOrderDTOs = orderService
+                .findAllOrdersByCustomerId(customerId, cursorPaginationRequest);
+
+        final CustomPageResponse<OrderGetByCustomerResponse> response = OrderMapper
+                .toGetByCustomerCursorResponse(sliceOfOrderDTOs);
+        return CustomResponse.ok(response);
+
+    }
+
     @PostMapping("/between-dates")
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
     public CustomResponse<CustomPageResponse<OrderGetBetweenDatesResponse>> getOrdersBetweenTwoDates(
@@ -78,4 +131,17 @@ public class OrderController {
         return CustomResponse.ok(response);
     }
 
+    @PostMapping("/between-dates/cursor")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public CustomResponse<CustomPageResponse<OrderGetBetweenDatesResponse>> getOrdersBetweenTwoDatesWithCursor(
+            @RequestBody @Valid CursorFindAllRequest cursorFindAllRequest
+    ) {
+        final Slice<OrderDTO> sliceOfOrderDTOs = orderService
+                .findAllOrdersBetweenTwoDates(cursorFindAllRequest);
+        final CustomPageResponse<OrderGetBetweenDatesResponse> response = OrderMapper
+                .toGetBetweenDatesCursorResponses(sliceOfOrderDTOs);
+
+        return CustomResponse.ok(response);
+    }
+
 }
@@ -9,7 +9,7 @@ import com.springframework.bookdelivery.payload.response.pagination.CustomPageRe
 import com.springframework.bookdelivery.service.StatisticsService;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import lombok.AllArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
@@ -27,7 +27,7 @@ public class StatisticsController {
             @PathVariable Long customerId,
             @RequestBody PaginationRequest paginationRequest
     ) {
-        Page<OrderReportDTO> orderReportDTOs = statisticsService
+        Slice<OrderReportDTO> orderReportDTOs = statisticsService
                 .getOrderStatisticsByCustomerId(customerId, paginationRequest);
         CustomPageResponse<OrderReportResponse> orderReportResponse = OrderReportMapper.toOrderReportResponseList(orderReportDTOs);
         return CustomResponse.ok(orderReportResponse);
@@ -38,9 +38,16 @@ public class StatisticsController {
     public CustomResponse<CustomPageResponse<OrderReportResponse>> getAllOrderStatistics(
             @RequestBody PaginationRequest paginationRequest
     ) {
-        Page<OrderReportDTO> orderReportDTOs = statisticsService.getAllOrderStatistics(paginationRequest);
+        Slice<OrderReportDTO> orderReportDTOs = statisticsService.getAllOrderStatistics(paginationRequest);
         CustomPageResponse<OrderReportResponse> orderReportResponse = OrderReportMapper.toOrderReportResponseList(orderReportDTOs);
         return CustomResponse.ok(orderReportResponse);
     }
 
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public CustomResponse<Void> rebuildOrderStatistics() {
+        statisticsService.rebuildOrderStatistics();
+        return CustomResponse.SUCCESS;
+    }
+
 }
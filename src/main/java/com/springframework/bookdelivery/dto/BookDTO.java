@@ -1,5 +1,6 @@
 package com.springframework.bookdelivery.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -7,7 +8,8 @@ import lombok.Getter;
 import java.math.BigDecimal;
 
 @Getter
-@Builder
+@Builder(toBuilder = true)
+@AllArgsConstructor
 @EqualsAndHashCode
 public class BookDTO {
 
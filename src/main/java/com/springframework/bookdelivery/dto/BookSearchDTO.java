@@ -0,0 +1,18 @@
+package com.springframework.bookdelivery.dto;
+
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.springframework.data.domain.Slice;
+
+/**
+ * One page of a book search, best match first.
+ */
+@Getter
+@Builder
+@EqualsAndHashCode
+public class BookSearchDTO {
+
+    private Slice<BookDTO> books;
+    private String nextCursor;
+}
@@ -0,0 +1,22 @@
+package com.springframework.bookdelivery.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+@Getter
+@Builder
+@AllArgsConstructor
+@EqualsAndHashCode
+public class MonthlySalesDTO {
+
+    private Long customerId;
+    private Integer year;
+    private Integer month;
+    private Long orderCount;
+    private Long bookCount;
+    private BigDecimal totalPrice;
+}
@@ -0,0 +1,22 @@
+package com.springframework.bookdelivery.dto;
+
+import com.springframework.bookdelivery.enums.OrderIntakeStatus;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder(toBuilder = true)
+@EqualsAndHashCode
+public class OrderIntakeDTO {
+
+    private String ticketId;
+    private String email;
+    private OrderIntakeStatus status;
+    private Long orderId;
+    private String message;
+    private LocalDateTime acceptedAt;
+    private LocalDateTime completedAt;
+}
@@ -4,22 +4,28 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
 
 import java.math.BigDecimal;
 
 @Getter
 @Builder
+@Jacksonized
 @EqualsAndHashCode
 public class OrderItemDTO {
 
     private Long id;
     private OrderItemBook book;
+    private Integer quantity;
+    private BigDecimal unitPrice;
+    private BigDecimal lineTotal;
 
     /**
      * Data Transfer Object (DTO) representing book information within an order item.
      */
     @Getter
     @Builder
+    @Jacksonized
     @AllArgsConstructor
     @EqualsAndHashCode
     public static class OrderItemBook {
@@ -0,0 +1,29 @@
+package com.springframework.bookdelivery.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+/**
+ * One row of the items of an order listing: the item and its book, read without loading any entity.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@EqualsAndHashCode
+public class OrderItemRowDTO {
+
+    private Long orderId;
+    private Long id;
+    private String bookId;
+    private String bookIsbn;
+    private String bookName;
+    private String bookAuthorFullName;
+    private BigDecimal bookPrice;
+    private Integer quantity;
+    private BigDecimal unitPrice;
+    private BigDecimal lineTotal;
+}
@@ -0,0 +1,26 @@
+package com.springframework.bookdelivery.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of an order listing: the order and its user, read without loading any entity.
+ * The items of the order are read separately as {@link OrderItemRowDTO} rows.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@EqualsAndHashCode
+public class OrderRowDTO {
+
+    private Long id;
+    private LocalDateTime createdAt;
+    private Long userId;
+    private String userFullName;
+    private String username;
+    private String userEmail;
+}
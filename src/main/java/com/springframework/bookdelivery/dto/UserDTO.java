@@ -3,9 +3,11 @@ package com.springframework.bookdelivery.dto;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
 
 @Getter
 @Builder
+@Jacksonized
 @EqualsAndHashCode
 public class UserDTO {
 
@@ -0,0 +1,47 @@
+package com.springframework.bookdelivery.entity;
+
+import com.springframework.bookdelivery.enums.IdempotencyStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(
+        name = "IDEMPOTENCY_RECORDS",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"USER_ID", "IDEMPOTENCY_KEY"})
+)
+public class IdempotencyRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "USER_ID", nullable = false)
+    private Long userId;
+
+    @Column(name = "IDEMPOTENCY_KEY", nullable = false)
+    private String idempotencyKey;
+
+    @Column(name = "REQUEST_FINGERPRINT", nullable = false, length = 64)
+    private String requestFingerprint;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "STATUS", nullable = false)
+    private IdempotencyStatus status;
+
+    @Lob
+    @Column(name = "RESPONSE")
+    private String response;
+
+    @Column(name = "CREATED_AT", nullable = false)
+    private LocalDateTime createdAt;
+
+}
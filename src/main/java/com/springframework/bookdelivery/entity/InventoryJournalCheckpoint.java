@@ -0,0 +1,33 @@
+package com.springframework.bookdelivery.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "INVENTORY_JOURNAL_CHECKPOINTS")
+public class InventoryJournalCheckpoint {
+
+    /**
+     * The id of the application node that owns the journal.
+     */
+    @Id
+    @Column(name = "NODE_ID")
+    private String nodeId;
+
+    /**
+     * The last journal segment whose stock deltas have been written to the BOOKS table.
+     */
+    @Column(name = "LAST_SEGMENT", nullable = false)
+    private Long lastSegment;
+
+}
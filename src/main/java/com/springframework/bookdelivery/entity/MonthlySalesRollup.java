@@ -0,0 +1,49 @@
+package com.springframework.bookdelivery.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(
+        name = "MONTHLY_SALES_ROLLUP",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"CUSTOMER_ID", "SALES_YEAR", "SALES_MONTH"})
+)
+public class MonthlySalesRollup {
+
+    /**
+     * The customer id of the rows that sum up the sales of all customers.
+     */
+    public static final Long ALL_CUSTOMERS = 0L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "CUSTOMER_ID", nullable = false)
+    private Long customerId;
+
+    @Column(name = "SALES_YEAR", nullable = false)
+    private Integer salesYear;
+
+    @Column(name = "SALES_MONTH", nullable = false)
+    private Integer salesMonth;
+
+    @Column(name = "ORDER_COUNT", nullable = false)
+    private Long orderCount;
+
+    @Column(name = "BOOK_COUNT", nullable = false)
+    private Long bookCount;
+
+    @Column(name = "TOTAL_PRICE", nullable = false)
+    private BigDecimal totalPrice;
+
+}
@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.BatchSize;
 
 import java.util.List;
 
@@ -15,18 +16,31 @@ import java.util.List;
 @SuperBuilder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "ORDERS")
+@Table(
+        name = "ORDERS",
+        indexes = {
+                @Index(name = "IDX_ORDERS_USER_CREATED_AT_ID", columnList = "userId, CREATED_AT, id"),
+                @Index(name = "IDX_ORDERS_CREATED_AT_ID", columnList = "CREATED_AT, id")
+        }
+)
 public class Order extends BaseEntity{
 
+    static final int ITEM_BATCH_SIZE = 50;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "userId", nullable = false)
     private User user;
 
-    @OneToMany(mappedBy = "order", cascade = CascadeType.PERSIST, fetch = FetchType.EAGER)
+    /**
+     * The items are loaded on first access, for up to {@value #ITEM_BATCH_SIZE} orders of the
+     * persistence context at once, together with their books.
+     */
+    @OneToMany(mappedBy = "order", cascade = CascadeType.PERSIST)
+    @BatchSize(size = ITEM_BATCH_SIZE)
     private List<OrderItem> orderItems;
 
 
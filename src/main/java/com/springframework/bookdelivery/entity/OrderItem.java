@@ -3,6 +3,8 @@ package com.springframework.bookdelivery.entity;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.math.BigDecimal;
+
 @Entity
 @Data
 @EqualsAndHashCode(callSuper = true)
@@ -20,7 +22,16 @@ public class OrderItem extends BaseEntity{
     @JoinColumn(name = "bookId")
     private Book book;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @Column(name = "QUANTITY")
+    private Integer quantity;
+
+    @Column(name = "UNIT_PRICE")
+    private BigDecimal unitPrice;
+
+    @Column(name = "LINE_TOTAL")
+    private BigDecimal lineTotal;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "orderId", referencedColumnName = "id")
     private Order order;
 }
@@ -6,7 +6,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.time.LocalDate;
+import java.time.Instant;
 
 @Entity
 @Data
@@ -24,10 +24,10 @@ public class RefreshToken {
     @JoinColumn(name = "user_id", referencedColumnName = "id")
     private User user;
 
-    @Column(nullable = false, unique = true)
-    private String token;
+    @Column(name = "TOKEN_HASH", nullable = false, unique = true, length = 64)
+    private String tokenHash;
 
-    @Column(nullable = false)
-    private LocalDate expiryDate;
+    @Column(name = "EXPIRES_AT", nullable = false)
+    private Instant expiresAt;
 
 }
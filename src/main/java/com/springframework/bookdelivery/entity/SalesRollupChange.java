@@ -0,0 +1,41 @@
+package com.springframework.bookdelivery.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * The sales of one placed order that have not been added to the {@link MonthlySalesRollup} yet.
+ */
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "SALES_ROLLUP_CHANGES")
+public class SalesRollupChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "CUSTOMER_ID", nullable = false)
+    private Long customerId;
+
+    @Column(name = "SALES_YEAR", nullable = false)
+    private Integer salesYear;
+
+    @Column(name = "SALES_MONTH", nullable = false)
+    private Integer salesMonth;
+
+    @Column(name = "BOOK_COUNT", nullable = false)
+    private Long bookCount;
+
+    @Column(name = "TOTAL_PRICE", nullable = false)
+    private BigDecimal totalPrice;
+
+}
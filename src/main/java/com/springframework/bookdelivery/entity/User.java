@@ -2,6 +2,7 @@ package com.springframework.bookdelivery.entity;
 
 import com.springframework.bookdelivery.enums.Role;
 import com.springframework.bookdelivery.enums.TokenClaims;
+import com.springframework.bookdelivery.event.UserEntityListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -18,6 +19,7 @@ import java.util.Map;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "USERS")
+@EntityListeners(UserEntityListener.class)
 public class User {
 
     @Id
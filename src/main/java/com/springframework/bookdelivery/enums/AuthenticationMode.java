@@ -0,0 +1,13 @@
+package com.springframework.bookdelivery.enums;
+
+/**
+ * How the principal of an authenticated request is built from its JWT token.
+ * <p>- {@link #DATABASE}: the user is loaded from the database on every request.</p>
+ * <p>- {@link #STATELESS}: the user is rebuilt from the verified token claims without a query.
+ * Changes to a user, e.g. a new role, take effect once the user's current token expires.</p>
+ */
+public enum AuthenticationMode {
+
+    DATABASE,
+    STATELESS
+}
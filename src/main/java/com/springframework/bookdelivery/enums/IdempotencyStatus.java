@@ -0,0 +1,12 @@
+package com.springframework.bookdelivery.enums;
+
+/**
+ * The states of a request that has been sent with an {@code Idempotency-Key} header.
+ * <p>- {@link #IN_PROGRESS}: the first request with the key is still being processed.</p>
+ * <p>- {@link #COMPLETED}: the first request has succeeded and its response is recorded.</p>
+ */
+public enum IdempotencyStatus {
+
+    IN_PROGRESS,
+    COMPLETED
+}
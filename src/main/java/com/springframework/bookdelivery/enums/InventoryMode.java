@@ -0,0 +1,21 @@
+package com.springframework.bookdelivery.enums;
+
+public enum InventoryMode {
+
+    /**
+     * Locks the requested book rows with {@code SELECT ... FOR UPDATE} and decrements the stock in memory.
+     */
+    PESSIMISTIC,
+
+    /**
+     * Decrements the stock with a guarded {@code UPDATE ... WHERE STOCK >= ?} and detects oversell
+     * from the affected row count, without reading the rows under a lock first.
+     */
+    CONDITIONAL,
+
+    /**
+     * Reserves the stock from in-memory counters and writes the net stock deltas behind to the database
+     * in periodic batches, keeping unflushed deltas in a local append-only journal.
+     */
+    LEDGER
+}
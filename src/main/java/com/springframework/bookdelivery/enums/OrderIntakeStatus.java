@@ -0,0 +1,14 @@
+package com.springframework.bookdelivery.enums;
+
+/**
+ * The states of an order that has been submitted through the asynchronous intake.
+ * <p>- {@link #ACCEPTED}: the order is queued and waits for a batch worker.</p>
+ * <p>- {@link #CONFIRMED}: the order has been committed and has an order id.</p>
+ * <p>- {@link #REJECTED}: the order could not be placed, e.g. because a book ran out of stock.</p>
+ */
+public enum OrderIntakeStatus {
+
+    ACCEPTED,
+    CONFIRMED,
+    REJECTED
+}
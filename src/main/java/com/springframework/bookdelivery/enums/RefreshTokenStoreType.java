@@ -0,0 +1,14 @@
+package com.springframework.bookdelivery.enums;
+
+/**
+ * Where refresh tokens are looked up.
+ * <p>- {@link #DATABASE}: every lookup reads the REFRESH_TOKENS table.</p>
+ * <p>- {@link #INDEXED}: lookups are served from a bounded in-memory index of token digests, and
+ * every change is written through to the REFRESH_TOKENS table. The index is local to this
+ * instance, so a token deleted by another instance stays usable here until it expires.</p>
+ */
+public enum RefreshTokenStoreType {
+
+    DATABASE,
+    INDEXED
+}
@@ -0,0 +1,18 @@
+package com.springframework.bookdelivery.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published whenever a {@link com.springframework.bookdelivery.entity.Book} is created or its catalog
+ * fields are updated.
+ */
+@Getter
+@AllArgsConstructor
+public class BookChangedEvent {
+
+    private final String bookId;
+    private final String isbn;
+    private final String name;
+    private final String authorFullName;
+}
@@ -0,0 +1,17 @@
+package com.springframework.bookdelivery.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Collection;
+
+/**
+ * Published whenever the stock of one or more {@link com.springframework.bookdelivery.entity.Book}s
+ * is changed, by an admin or by a checkout.
+ */
+@Getter
+@AllArgsConstructor
+public class BookStockChangedEvent {
+
+    private final Collection<String> bookIds;
+}
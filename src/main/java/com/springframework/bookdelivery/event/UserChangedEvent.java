@@ -0,0 +1,15 @@
+package com.springframework.bookdelivery.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published whenever a {@link com.springframework.bookdelivery.entity.User} is created, updated or deleted.
+ */
+@Getter
+@AllArgsConstructor
+public class UserChangedEvent {
+
+    private final Long userId;
+    private final String email;
+}
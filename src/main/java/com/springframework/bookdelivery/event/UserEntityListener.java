@@ -0,0 +1,29 @@
+package com.springframework.bookdelivery.event;
+
+import com.springframework.bookdelivery.entity.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes a {@link UserChangedEvent} for every write to the USERS table, so that every current and
+ * future code path that changes a user is covered without publishing the event by hand.
+ * <p>The event is published inside the writing transaction; listeners that must only see committed
+ * changes use {@link org.springframework.transaction.event.TransactionalEventListener}.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class UserEntityListener {
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void onUserChanged(User user) {
+        applicationEventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getEmail()));
+    }
+}
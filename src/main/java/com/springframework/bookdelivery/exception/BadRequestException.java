@@ -0,0 +1,29 @@
+package com.springframework.bookdelivery.exception;
+
+import org.springframework.http.HttpStatus;
+
+import java.io.Serial;
+
+/**
+ * The abstract base class for exceptions indicating that a request is malformed, e.g. because it
+ * carries a value the client was not supposed to alter.
+ *
+ * @see RuntimeException
+ * @see org.springframework.http.HttpStatus
+ */
+public abstract class BadRequestException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = -5371840164902178532L;
+
+    public static final HttpStatus STATUS = HttpStatus.BAD_REQUEST;
+
+    /**
+     * Constructs a {@code BadRequestException} with the specified detail message.
+     *
+     * @param message the detail message (which is saved for later retrieval by the {@link #getMessage()} method).
+     */
+    protected BadRequestException(String message) {
+        super(message);
+    }
+}
@@ -166,6 +166,26 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return ResponseEntity.status(status).body(errorResponse);
     }
 
+    /**
+     * Handles BadRequestException, returning an ErrorResponse with appropriate status and message.
+     *
+     * @param exception The exception that was thrown.
+     * @return A ResponseEntity containing an error response.
+     */
+    @ExceptionHandler(BadRequestException.class)
+    protected ResponseEntity<Object> handleBadRequestException(BadRequestException exception) {
+
+        log.error(exception.getMessage(), exception);
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .message(exception.getMessage())
+                .statusCode(BadRequestException.STATUS.value())
+                .status(BadRequestException.STATUS)
+                .build();
+
+        return ResponseEntity.status(BadRequestException.STATUS).body(errorResponse);
+    }
+
     /**
      * Handles NotFoundException, returning an ErrorResponse with appropriate status and message.
      *
@@ -225,4 +245,24 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 
         return ResponseEntity.status(ProcessException.STATUS).body(errorResponse);
     }
+
+    /**
+     * Handles UnavailableException, returning an ErrorResponse with appropriate status and message.
+     *
+     * @param exception The exception that was thrown.
+     * @return A ResponseEntity containing an error response.
+     */
+    @ExceptionHandler(UnavailableException.class)
+    protected ResponseEntity<Object> handleUnavailableException(UnavailableException exception) {
+
+        log.error(exception.getMessage(), exception);
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .message(exception.getMessage())
+                .statusCode(UnavailableException.STATUS.value())
+                .status(UnavailableException.STATUS)
+                .build();
+
+        return ResponseEntity.status(UnavailableException.STATUS).body(errorResponse);
+    }
 }
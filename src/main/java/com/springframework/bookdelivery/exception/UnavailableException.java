@@ -0,0 +1,29 @@
+package com.springframework.bookdelivery.exception;
+
+import org.springframework.http.HttpStatus;
+
+import java.io.Serial;
+
+/**
+ * The abstract base class for exceptions indicating that a request could not be served right now
+ * and may succeed when it is retried later.
+ *
+ * @see RuntimeException
+ * @see org.springframework.http.HttpStatus
+ */
+public abstract class UnavailableException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 2861374658109432207L;
+
+    public static final HttpStatus STATUS = HttpStatus.SERVICE_UNAVAILABLE;
+
+    /**
+     * Constructs an {@code UnavailableException} with the specified detail message.
+     *
+     * @param message the detail message (which is saved for later retrieval by the {@link #getMessage()} method).
+     */
+    protected UnavailableException(String message) {
+        super(message);
+    }
+}
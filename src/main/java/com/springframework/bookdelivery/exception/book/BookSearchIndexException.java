@@ -0,0 +1,30 @@
+package com.springframework.bookdelivery.exception.book;
+
+import com.springframework.bookdelivery.exception.ProcessException;
+
+import java.io.Serial;
+
+public class BookSearchIndexException extends ProcessException {
+
+    @Serial
+    private static final long serialVersionUID = -2836410957781043926L;
+
+    private static final String DEFAULT_MESSAGE =
+            "The book search index could not be accessed!";
+
+    private static final String MESSAGE_TEMPLATE =
+            "The book search index could not be accessed: ";
+
+    /**
+     * Constructs a BookSearchIndexException with the reason of the failure.
+     *
+     * @param reason The reason why the index could not be accessed.
+     */
+    public BookSearchIndexException(String reason) {
+        super(MESSAGE_TEMPLATE.concat(String.valueOf(reason)));
+    }
+
+    public BookSearchIndexException() {
+        super(DEFAULT_MESSAGE);
+    }
+}
@@ -0,0 +1,30 @@
+package com.springframework.bookdelivery.exception.book;
+
+import com.springframework.bookdelivery.exception.BadRequestException;
+
+import java.io.Serial;
+
+public class InvalidBookSearchCursorException extends BadRequestException {
+
+    @Serial
+    private static final long serialVersionUID = 5403981662937415108L;
+
+    private static final String DEFAULT_MESSAGE =
+            "The given cursor is invalid!";
+
+    private static final String MESSAGE_TEMPLATE =
+            "The given cursor is invalid: ";
+
+    /**
+     * Constructs an InvalidBookSearchCursorException with the cursor that could not be decoded.
+     *
+     * @param cursor The cursor that could not be decoded.
+     */
+    public InvalidBookSearchCursorException(String cursor) {
+        super(MESSAGE_TEMPLATE.concat(cursor));
+    }
+
+    public InvalidBookSearchCursorException() {
+        super(DEFAULT_MESSAGE);
+    }
+}
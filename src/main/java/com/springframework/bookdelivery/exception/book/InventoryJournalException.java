@@ -0,0 +1,30 @@
+package com.springframework.bookdelivery.exception.book;
+
+import com.springframework.bookdelivery.exception.ProcessException;
+
+import java.io.Serial;
+
+public class InventoryJournalException extends ProcessException {
+
+    @Serial
+    private static final long serialVersionUID = 3419203647751090127L;
+
+    private static final String DEFAULT_MESSAGE =
+            "The inventory journal could not be written!";
+
+    private static final String MESSAGE_TEMPLATE =
+            "The inventory journal could not be written: ";
+
+    /**
+     * Constructs an InventoryJournalException with the reason of the failure.
+     *
+     * @param reason The reason why the journal could not be written.
+     */
+    public InventoryJournalException(String reason) {
+        super(MESSAGE_TEMPLATE.concat(String.valueOf(reason)));
+    }
+
+    public InventoryJournalException() {
+        super(DEFAULT_MESSAGE);
+    }
+}
@@ -0,0 +1,30 @@
+package com.springframework.bookdelivery.exception.order;
+
+import com.springframework.bookdelivery.exception.UnavailableException;
+
+import java.io.Serial;
+
+public class CheckoutContentionException extends UnavailableException {
+
+    @Serial
+    private static final long serialVersionUID = -1838471522065729113L;
+
+    private static final String DEFAULT_MESSAGE =
+            "The order could not be placed because the requested books are busy, please try again!";
+
+    private static final String MESSAGE_TEMPLATE =
+            "The order could not be placed after attempts: ";
+
+    /**
+     * Constructs a CheckoutContentionException with the number of attempts that were made.
+     *
+     * @param attempts The number of attempts made before giving up.
+     */
+    public CheckoutContentionException(int attempts) {
+        super(MESSAGE_TEMPLATE.concat(String.valueOf(attempts)));
+    }
+
+    public CheckoutContentionException() {
+        super(DEFAULT_MESSAGE);
+    }
+}
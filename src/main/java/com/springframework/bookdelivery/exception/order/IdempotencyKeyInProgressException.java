@@ -0,0 +1,30 @@
+package com.springframework.bookdelivery.exception.order;
+
+import com.springframework.bookdelivery.exception.AlreadyException;
+
+import java.io.Serial;
+
+public class IdempotencyKeyInProgressException extends AlreadyException {
+
+    @Serial
+    private static final long serialVersionUID = 7740812639925570813L;
+
+    private static final String DEFAULT_MESSAGE =
+            "A request with the same idempotency key is still being processed!";
+
+    private static final String MESSAGE_TEMPLATE =
+            "A request is still being processed with idempotency key: ";
+
+    /**
+     * Constructs an IdempotencyKeyInProgressException with the idempotency key in use.
+     *
+     * @param idempotencyKey The idempotency key of the request that is still being processed.
+     */
+    public IdempotencyKeyInProgressException(String idempotencyKey) {
+        super(MESSAGE_TEMPLATE.concat(idempotencyKey));
+    }
+
+    public IdempotencyKeyInProgressException() {
+        super(DEFAULT_MESSAGE);
+    }
+}
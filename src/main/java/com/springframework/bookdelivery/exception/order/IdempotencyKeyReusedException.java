@@ -0,0 +1,30 @@
+package com.springframework.bookdelivery.exception.order;
+
+import com.springframework.bookdelivery.exception.BadRequestException;
+
+import java.io.Serial;
+
+public class IdempotencyKeyReusedException extends BadRequestException {
+
+    @Serial
+    private static final long serialVersionUID = -2864104781553609473L;
+
+    private static final String DEFAULT_MESSAGE =
+            "The idempotency key has already been used for a different request!";
+
+    private static final String MESSAGE_TEMPLATE =
+            "The idempotency key has already been used for a different request: ";
+
+    /**
+     * Constructs an IdempotencyKeyReusedException with the idempotency key that has been reused.
+     *
+     * @param idempotencyKey The idempotency key that has been sent with a different request before.
+     */
+    public IdempotencyKeyReusedException(String idempotencyKey) {
+        super(MESSAGE_TEMPLATE.concat(idempotencyKey));
+    }
+
+    public IdempotencyKeyReusedException() {
+        super(DEFAULT_MESSAGE);
+    }
+}
@@ -0,0 +1,30 @@
+package com.springframework.bookdelivery.exception.order;
+
+import com.springframework.bookdelivery.exception.ProcessException;
+
+import java.io.Serial;
+
+public class IdempotencyRecordException extends ProcessException {
+
+    @Serial
+    private static final long serialVersionUID = -2286174419608217350L;
+
+    private static final String DEFAULT_MESSAGE =
+            "The response of the idempotent request could not be recorded!";
+
+    private static final String MESSAGE_TEMPLATE =
+            "The response of the idempotent request could not be recorded: ";
+
+    /**
+     * Constructs an IdempotencyRecordException with the reason of the failure.
+     *
+     * @param reason The reason why the response could not be recorded or read.
+     */
+    public IdempotencyRecordException(String reason) {
+        super(MESSAGE_TEMPLATE.concat(String.valueOf(reason)));
+    }
+
+    public IdempotencyRecordException() {
+        super(DEFAULT_MESSAGE);
+    }
+}
@@ -0,0 +1,30 @@
+package com.springframework.bookdelivery.exception.order;
+
+import com.springframework.bookdelivery.exception.BadRequestException;
+
+import java.io.Serial;
+
+public class InvalidOrderCursorException extends BadRequestException {
+
+    @Serial
+    private static final long serialVersionUID = 7719504638212270815L;
+
+    private static final String DEFAULT_MESSAGE =
+            "The given cursor is invalid!";
+
+    private static final String MESSAGE_TEMPLATE =
+            "The given cursor is invalid: ";
+
+    /**
+     * Constructs an InvalidOrderCursorException with the cursor that could not be decoded.
+     *
+     * @param cursor The cursor that could not be decoded.
+     */
+    public InvalidOrderCursorException(String cursor) {
+        super(MESSAGE_TEMPLATE.concat(cursor));
+    }
+
+    public InvalidOrderCursorException() {
+        super(DEFAULT_MESSAGE);
+    }
+}
@@ -0,0 +1,30 @@
+package com.springframework.bookdelivery.exception.order;
+
+import com.springframework.bookdelivery.exception.UnavailableException;
+
+import java.io.Serial;
+
+public class OrderIntakeFullException extends UnavailableException {
+
+    @Serial
+    private static final long serialVersionUID = 5307824291176645390L;
+
+    private static final String DEFAULT_MESSAGE =
+            "Too many orders are waiting to be placed, please try again!";
+
+    private static final String MESSAGE_TEMPLATE =
+            "The order intake queue is full, capacity: ";
+
+    /**
+     * Constructs an OrderIntakeFullException with the capacity of the full queue.
+     *
+     * @param capacity The capacity of the order intake queue.
+     */
+    public OrderIntakeFullException(int capacity) {
+        super(MESSAGE_TEMPLATE.concat(String.valueOf(capacity)));
+    }
+
+    public OrderIntakeFullException() {
+        super(DEFAULT_MESSAGE);
+    }
+}
@@ -0,0 +1,30 @@
+package com.springframework.bookdelivery.exception.order;
+
+import com.springframework.bookdelivery.exception.NotFoundException;
+
+import java.io.Serial;
+
+public class OrderIntakeTicketNotFoundException extends NotFoundException {
+
+    @Serial
+    private static final long serialVersionUID = -4127738650218841935L;
+
+    private static final String DEFAULT_MESSAGE =
+            "Order intake ticket not found!";
+
+    private static final String MESSAGE_TEMPLATE =
+            "Order intake ticket not found with ID: ";
+
+    /**
+     * Constructs an OrderIntakeTicketNotFoundException with the ticket id that could not be found.
+     *
+     * @param ticketId The ID of the ticket that was not found.
+     */
+    public OrderIntakeTicketNotFoundException(String ticketId) {
+        super(MESSAGE_TEMPLATE.concat(ticketId));
+    }
+
+    public OrderIntakeTicketNotFoundException() {
+        super(DEFAULT_MESSAGE);
+    }
+}
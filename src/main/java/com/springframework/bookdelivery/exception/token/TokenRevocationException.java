@@ -0,0 +1,30 @@
+package com.springframework.bookdelivery.exception.token;
+
+import com.springframework.bookdelivery.exception.UnavailableException;
+
+import java.io.Serial;
+
+public class TokenRevocationException extends UnavailableException {
+
+    @Serial
+    private static final long serialVersionUID = 4418350917265503841L;
+
+    private static final String DEFAULT_MESSAGE =
+            "The access token could not be revoked, please try again!";
+
+    private static final String MESSAGE_TEMPLATE =
+            "The access token could not be revoked, revoked tokens: ";
+
+    /**
+     * Constructs a TokenRevocationException with the number of tokens that are already revoked.
+     *
+     * @param revoked The number of tokens on the deny list.
+     */
+    public TokenRevocationException(long revoked) {
+        super(MESSAGE_TEMPLATE.concat(String.valueOf(revoked)));
+    }
+
+    public TokenRevocationException() {
+        super(DEFAULT_MESSAGE);
+    }
+}
@@ -0,0 +1,30 @@
+package com.springframework.bookdelivery.exception.user;
+
+import com.springframework.bookdelivery.exception.UnavailableException;
+
+import java.io.Serial;
+
+public class PasswordHashingBusyException extends UnavailableException {
+
+    @Serial
+    private static final long serialVersionUID = -6032298571144367190L;
+
+    private static final String DEFAULT_MESSAGE =
+            "Too many logins are being processed, please try again!";
+
+    private static final String MESSAGE_TEMPLATE =
+            "Too many logins are being processed, pending password checks: ";
+
+    /**
+     * Constructs a PasswordHashingBusyException with the number of password checks waiting to run.
+     *
+     * @param pending The number of password checks waiting in the hashing queue.
+     */
+    public PasswordHashingBusyException(int pending) {
+        super(MESSAGE_TEMPLATE.concat(String.valueOf(pending)));
+    }
+
+    public PasswordHashingBusyException() {
+        super(DEFAULT_MESSAGE);
+    }
+}
@@ -0,0 +1,272 @@
+package com.springframework.bookdelivery.inventory;
+
+import com.springframework.bookdelivery.exception.book.InventoryJournalException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * <p>A local, append-only journal of the stock deltas that have been reserved in memory but not
+ * yet written to the database.</p>
+ * <p>The journal is split into numbered segment files. New records are always appended to the
+ * current segment; {@link #rotate()} closes it and opens the next one. Once the deltas of a
+ * segment are written to the database the segment can be deleted with {@link #deleteUpTo(long)}.
+ * Each line of a segment holds one delta as {@code <bookId> <delta>}.</p>
+ * <p>{@link #append(Map)} only writes to the segment; {@link #awaitDurable(long)} makes the records
+ * durable with group commit: one waiting caller forces the segment to disk for every record appended
+ * so far, while the callers that arrive in the meantime wait for that force instead of issuing their
+ * own. The number of disk flushes therefore follows the disk's flush rate, not the number of records.</p>
+ * <p>This class is not thread-safe on its own; callers serialize {@link #append(Map)} against
+ * {@link #rotate()}, and do not rotate while {@link #awaitDurable(long)} is running.</p>
+ */
+@Slf4j
+class InventoryJournal {
+
+    private static final Pattern SEGMENT_FILE_NAME = Pattern.compile("inventory-(\\d+)\\.journal");
+
+    private final Path directory;
+
+    private final boolean fsync;
+
+    private FileChannel channel;
+
+    private long segment;
+
+    private boolean dirty;
+
+    private long appended;
+
+    private final ReentrantLock syncLock = new ReentrantLock();
+
+    private final Condition synced = syncLock.newCondition();
+
+    private long durable;
+
+    private boolean syncing;
+
+    InventoryJournal(Path directory, boolean fsync) {
+        this.directory = directory;
+        this.fsync = fsync;
+    }
+
+    /**
+     * Opens the given segment for appending, creating the journal directory if needed.
+     *
+     * @param segment The number of the segment to append to.
+     */
+    void open(long segment) {
+        try {
+            Files.createDirectories(directory);
+            this.channel = FileChannel.open(segmentPath(segment),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            this.segment = segment;
+            this.dirty = false;
+        } catch (IOException e) {
+            throw new InventoryJournalException(e.getMessage());
+        }
+    }
+
+    /**
+     * Appends the given stock deltas to the current segment as one write, without forcing it to disk.
+     *
+     * @param deltas The stock deltas keyed by book id.
+     * @return The sequence number of the record, to be passed to {@link #awaitDurable(long)}.
+     */
+    long append(Map<String, Integer> deltas) {
+        StringBuilder builder = new StringBuilder();
+        deltas.forEach((bookId, delta) -> builder.append(bookId).append(' ').append(delta).append('\n'));
+        ByteBuffer buffer = ByteBuffer.wrap(builder.toString().getBytes(StandardCharsets.UTF_8));
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            dirty = true;
+            return ++appended;
+        } catch (IOException e) {
+            throw new InventoryJournalException(e.getMessage());
+        }
+    }
+
+    /**
+     * Waits until the record with the given sequence number has been forced to disk. If no force is
+     * running, the caller forces every record appended so far; otherwise it waits for the running one.
+     * Does nothing if {@code fsync} is disabled.
+     *
+     * @param sequence The sequence number returned by {@link #append(Map)}.
+     */
+    void awaitDurable(long sequence) {
+        if (!fsync) {
+            return;
+        }
+        syncLock.lock();
+        try {
+            while (durable < sequence) {
+                if (syncing) {
+                    synced.awaitUninterruptibly();
+                    continue;
+                }
+                syncing = true;
+                syncLock.unlock();
+                long target = 0;
+                try {
+                    synchronized (this) {
+                        target = appended;
+                    }
+                    channel.force(false);
+                } catch (IOException e) {
+                    target = 0;
+                    throw new InventoryJournalException(e.getMessage());
+                } finally {
+                    syncLock.lock();
+                    syncing = false;
+                    durable = Math.max(durable, target);
+                    synced.signalAll();
+                }
+            }
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Checks whether anything has been appended to the current segment.
+     *
+     * @return {@code true} if the current segment holds records.
+     */
+    boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Closes the current segment and continues appending to the next one.
+     *
+     * @return The number of the segment that has been closed.
+     */
+    long rotate() {
+        long closed = segment;
+        close();
+        open(closed + 1);
+        return closed;
+    }
+
+    /**
+     * Sums up the stock deltas of every segment on disk that is newer than the given segment.
+     * A truncated last line, left behind by a crash in the middle of a write, is ignored.
+     *
+     * @param afterSegment The last segment that is already reflected in the database.
+     * @return The summed stock deltas keyed by book id.
+     */
+    Map<String, Integer> replay(long afterSegment) {
+        Map<String, Integer> deltas = new TreeMap<>();
+        for (long number : segmentsOnDisk()) {
+            if (number <= afterSegment) {
+                continue;
+            }
+            try (Stream<String> lines = Files.lines(segmentPath(number), StandardCharsets.UTF_8)) {
+                lines.forEach(line -> {
+                    String[] parts = line.split(" ");
+                    if (parts.length == 2) {
+                        try {
+                            deltas.merge(parts[0], Integer.parseInt(parts[1]), Integer::sum);
+                        } catch (NumberFormatException e) {
+                            log.warn("InventoryJournal | replay | skipping truncated record in segment {}", number);
+                        }
+                    }
+                });
+            } catch (IOException e) {
+                throw new InventoryJournalException(e.getMessage());
+            }
+        }
+        deltas.values().removeIf(delta -> delta == 0);
+        return deltas;
+    }
+
+    /**
+     * Returns the number of the newest segment on disk.
+     *
+     * @return The newest segment number, or {@code 0} if the journal is empty.
+     */
+    long lastSegmentOnDisk() {
+        List<Long> segments = segmentsOnDisk();
+        return segments.isEmpty() ? 0L : segments.get(segments.size() - 1);
+    }
+
+    /**
+     * Deletes every closed segment up to and including the given one.
+     *
+     * @param lastSegment The newest segment to be deleted.
+     */
+    void deleteUpTo(long lastSegment) {
+        for (long number : segmentsOnDisk()) {
+            if (number <= lastSegment && (channel == null || number != segment)) {
+                try {
+                    Files.deleteIfExists(segmentPath(number));
+                } catch (IOException e) {
+                    log.warn("InventoryJournal | deleteUpTo | cannot delete segment {}: {}", number, e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Closes the current segment.
+     */
+    void close() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.force(false);
+            channel.close();
+            markDurable();
+        } catch (IOException e) {
+            throw new InventoryJournalException(e.getMessage());
+        } finally {
+            channel = null;
+        }
+    }
+
+    private void markDurable() {
+        syncLock.lock();
+        try {
+            durable = Math.max(durable, appended);
+            synced.signalAll();
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    private List<Long> segmentsOnDisk() {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .map(path -> SEGMENT_FILE_NAME.matcher(path.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .map(matcher -> Long.parseLong(matcher.group(1)))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new InventoryJournalException(e.getMessage());
+        }
+    }
+
+    private Path segmentPath(long number) {
+        return directory.resolve("inventory-" + number + ".journal");
+    }
+}
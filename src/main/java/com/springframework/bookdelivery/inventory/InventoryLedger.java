@@ -0,0 +1,477 @@
+package com.springframework.bookdelivery.inventory;
+
+import com.springframework.bookdelivery.entity.Book;
+import com.springframework.bookdelivery.entity.InventoryJournalCheckpoint;
+import com.springframework.bookdelivery.exception.book.BookNotFoundException;
+import com.springframework.bookdelivery.exception.book.NoAvailableStockException;
+import com.springframework.bookdelivery.repository.BookRepository;
+import com.springframework.bookdelivery.repository.InventoryJournalCheckpointRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * <p>An in-process inventory engine used when {@code inventory.mode} is {@code LEDGER}.</p>
+ * <p>The available stock of every book is held in memory, split over {@code inventory.ledger.stripes}
+ * counters so that concurrent reservations of the same book rarely compete for the same CAS.
+ * Each reservation is appended to a local {@link InventoryJournal} right before its transaction
+ * commits, and the commit waits for the journal's group commit, so an order only commits once its
+ * reservation is on disk and a journal failure rolls the order back. A reservation whose transaction
+ * rolls back after it has been journaled is compensated by a second record that gives the amounts
+ * back. The net stock deltas are written behind to the BOOKS table every
+ * {@code inventory.ledger.flush-interval-ms} in one batch. After a crash the deltas left in the
+ * journal are applied to the database on the next start, before any reservation is accepted.</p>
+ * <p>The ledger assumes that it is the only writer of {@code BOOKS.STOCK}; the admin stock updates
+ * go through {@link #adjustTo(String, int)} while this mode is active.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "inventory.mode", havingValue = "LEDGER")
+public class InventoryLedger {
+
+    @Value("${inventory.ledger.node-id}")
+    String nodeId;
+
+    @Value("${inventory.ledger.stripes}")
+    int stripes;
+
+    @Value("${inventory.ledger.journal.directory}")
+    String journalDirectory;
+
+    @Value("${inventory.ledger.journal.fsync}")
+    boolean journalFsync;
+
+    private final BookRepository bookRepository;
+
+    private final InventoryJournalCheckpointRepository checkpointRepository;
+
+    private final PlatformTransactionManager transactionManager;
+
+    private final ConcurrentMap<String, Slot> slots = new ConcurrentHashMap<>();
+
+    private final ReadWriteLock rotationLock = new ReentrantReadWriteLock();
+
+    private InventoryJournal journal;
+
+    private TransactionTemplate transactionTemplate;
+
+    private boolean retryPending;
+
+    /**
+     * Applies the stock deltas left in the journal by a previous run to the database and
+     * opens a fresh journal segment.
+     */
+    @PostConstruct
+    void recover() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        journal = new InventoryJournal(Path.of(journalDirectory), journalFsync);
+
+        long checkpoint = checkpointRepository.findById(nodeId)
+                .map(InventoryJournalCheckpoint::getLastSegment)
+                .orElse(0L);
+        long lastSegment = Math.max(checkpoint, journal.lastSegmentOnDisk());
+
+        Map<String, Integer> unflushed = journal.replay(checkpoint);
+        if (!unflushed.isEmpty()) {
+            log.info("InventoryLedger | recover | applying unflushed stock deltas of {} books", unflushed.size());
+            transactionTemplate.executeWithoutResult(status -> writeToDatabase(unflushed, lastSegment));
+        }
+
+        journal.deleteUpTo(lastSegment);
+        journal.open(lastSegment + 1);
+    }
+
+    /**
+     * Reserves the given amounts atomically: either every book has enough stock and all amounts
+     * are taken, or nothing is taken at all.
+     * <p>The amounts are taken from the available stock at once and journaled right before the
+     * surrounding transaction commits. If the transaction rolls back, they are given back and a
+     * journaled reservation is compensated in the journal.</p>
+     *
+     * @param amountsByBookId The requested amounts, keyed and sorted by book id.
+     * @throws BookNotFoundException     If one of the requested books does not exist.
+     * @throws NoAvailableStockException If one of the requested books does not have enough stock.
+     */
+    public void reserve(SortedMap<String, Integer> amountsByBookId) {
+
+        final Map<Slot, Integer> taken = new LinkedHashMap<>();
+        try {
+            amountsByBookId.forEach((bookId, amount) -> {
+                Slot slot = slot(bookId);
+                if (!slot.tryTake(amount)) {
+                    throw new NoAvailableStockException(amount);
+                }
+                taken.put(slot, amount);
+            });
+        } catch (RuntimeException e) {
+            taken.forEach(Slot::give);
+            throw e;
+        }
+
+        final Map<String, Integer> deltas = new TreeMap<>();
+        amountsByBookId.forEach((bookId, amount) -> deltas.put(bookId, -amount));
+        recordOnCommit(deltas, () -> taken.forEach(Slot::give));
+    }
+
+    /**
+     * Gives previously reserved amounts back to the available stock.
+     *
+     * @param amountsByBookId The reserved amounts, keyed by book id.
+     */
+    public void release(Map<String, Integer> amountsByBookId) {
+        try {
+            amountsByBookId.forEach((bookId, amount) -> slot(bookId).give(amount));
+            record(new TreeMap<>(amountsByBookId));
+        } catch (RuntimeException e) {
+            log.error("InventoryLedger | release | cannot release reservation: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the stock of a book that is currently available for reservations.
+     *
+     * @param bookId The unique identifier of the book.
+     * @return The available stock.
+     * @throws BookNotFoundException If the book does not exist.
+     */
+    public int available(String bookId) {
+        return slot(bookId).available();
+    }
+
+    /**
+     * Returns the available stock of a book if the ledger already tracks it. A book that is not
+     * tracked has no unflushed deltas, so its stock in the database is current.
+     *
+     * @param bookId The unique identifier of the book.
+     * @return The available stock, or an empty {@link OptionalInt} if the book is not tracked yet.
+     */
+    public OptionalInt peek(String bookId) {
+        Slot slot = slots.get(bookId);
+        return slot == null ? OptionalInt.empty() : OptionalInt.of(slot.available());
+    }
+
+    /**
+     * Sets the available stock of a book to an absolute value; the difference to the current
+     * stock is journaled and written behind like any reservation.
+     * <p>Like a reservation, the difference is journaled right before the surrounding transaction
+     * commits, and taken back if it rolls back.</p>
+     *
+     * @param bookId The unique identifier of the book.
+     * @param stock  The new available stock.
+     * @throws BookNotFoundException If the book does not exist.
+     */
+    public void adjustTo(String bookId, int stock) {
+        final Slot slot = slot(bookId);
+        final int delta = stock - slot.resetTo(stock);
+        if (delta != 0) {
+            recordOnCommit(Map.of(bookId, delta), () -> slot.give(-delta));
+        }
+    }
+
+    /**
+     * Writes the net stock deltas collected since the last flush to the database in one
+     * transaction and drops the journal segments that hold them.
+     */
+    @Scheduled(fixedDelayString = "${inventory.ledger.flush-interval-ms}")
+    public synchronized void flush() {
+
+        final Map<String, Integer> deltas = new TreeMap<>();
+        final long segment;
+
+        rotationLock.writeLock().lock();
+        try {
+            if (!journal.isDirty() && !retryPending) {
+                return;
+            }
+            segment = journal.rotate();
+            slots.forEach((bookId, slot) -> {
+                int delta = slot.pending.getAndSet(0);
+                if (delta != 0) {
+                    deltas.put(bookId, delta);
+                }
+            });
+        } finally {
+            rotationLock.writeLock().unlock();
+        }
+
+        try {
+            if (!deltas.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> writeToDatabase(deltas, segment));
+            }
+            journal.deleteUpTo(segment);
+            retryPending = false;
+        } catch (RuntimeException e) {
+            deltas.forEach((bookId, delta) -> slots.get(bookId).pending.addAndGet(delta));
+            retryPending = true;
+            log.error("InventoryLedger | flush | cannot write stock deltas, keeping them for the next flush: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the remaining stock deltas and closes the journal.
+     */
+    @PreDestroy
+    void shutdown() {
+        flush();
+        journal.close();
+    }
+
+    /**
+     * Journals the given stock deltas as part of the surrounding transaction, or right away if no
+     * transaction is active. If the deltas cannot be journaled or the transaction rolls back, the
+     * given compensation restores the in-memory stock.
+     *
+     * @param deltas     The stock deltas keyed by book id.
+     * @param onRollback The compensation that undoes the in-memory change.
+     */
+    private void recordOnCommit(Map<String, Integer> deltas, Runnable onRollback) {
+        final JournaledChange change = new JournaledChange(deltas, onRollback);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            try {
+                change.journal();
+            } catch (RuntimeException e) {
+                change.compensate();
+                throw e;
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(change);
+    }
+
+    /**
+     * Journals the given stock deltas, adds them to the pending deltas of their books and waits
+     * until the journal record is on disk. All steps run under the read side of the rotation lock,
+     * so every delta that a flush drains has been written to a segment that the same flush closes.
+     * The pending deltas are added even if the journal cannot be written, so that they still reach
+     * the database with the next flush.
+     *
+     * @param deltas The stock deltas keyed by book id.
+     */
+    private void record(Map<String, Integer> deltas) {
+        rotationLock.readLock().lock();
+        try {
+            final long sequence;
+            try {
+                synchronized (journal) {
+                    sequence = journal.append(deltas);
+                }
+            } finally {
+                deltas.forEach((bookId, delta) -> slots.get(bookId).pending.addAndGet(delta));
+            }
+            journal.awaitDurable(sequence);
+        } finally {
+            rotationLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Applies stock deltas to the BOOKS table, locking the rows in ascending id order, and
+     * records the journal segment they belong to in the same transaction.
+     *
+     * @param deltas  The stock deltas keyed by book id.
+     * @param segment The newest journal segment covered by the deltas.
+     */
+    private void writeToDatabase(Map<String, Integer> deltas, long segment) {
+        for (Book book : bookRepository.findAllForUpdateByIdIn(deltas.keySet())) {
+            int stock = book.getStock() == null ? 0 : book.getStock();
+            book.setStock(stock + deltas.get(book.getId()));
+        }
+        checkpointRepository.save(new InventoryJournalCheckpoint(nodeId, segment));
+    }
+
+    private static Map<String, Integer> negate(Map<String, Integer> deltas) {
+        final Map<String, Integer> negated = new TreeMap<>();
+        deltas.forEach((bookId, delta) -> negated.put(bookId, -delta));
+        return negated;
+    }
+
+    private Slot slot(String bookId) {
+        return slots.computeIfAbsent(bookId, id -> {
+            Book book = bookRepository.findById(id).orElseThrow(() -> new BookNotFoundException(id));
+            return new Slot(book.getStock() == null ? 0 : book.getStock(), stripes);
+        });
+    }
+
+    /**
+     * The stock deltas of one transaction, journaled before the transaction commits.
+     */
+    private final class JournaledChange implements TransactionSynchronization {
+
+        private final Map<String, Integer> deltas;
+
+        private final Runnable onRollback;
+
+        private boolean appended;
+
+        private JournaledChange(Map<String, Integer> deltas, Runnable onRollback) {
+            this.deltas = deltas;
+            this.onRollback = onRollback;
+        }
+
+        /**
+         * Journals the deltas and waits for the group commit; an exception here rolls the
+         * transaction back.
+         */
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            journal();
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            if (status == STATUS_ROLLED_BACK) {
+                compensate();
+            }
+        }
+
+        /**
+         * Appends the deltas to the journal, adds them to the pending deltas of their books and
+         * waits until the journal record is on disk, all under the read side of the rotation lock.
+         */
+        private void journal() {
+            rotationLock.readLock().lock();
+            try {
+                final long sequence;
+                synchronized (journal) {
+                    sequence = journal.append(deltas);
+                }
+                appended = true;
+                deltas.forEach((bookId, delta) -> slots.get(bookId).pending.addAndGet(delta));
+                journal.awaitDurable(sequence);
+            } finally {
+                rotationLock.readLock().unlock();
+            }
+        }
+
+        /**
+         * Restores the in-memory stock and, if the deltas have reached the journal, journals the
+         * opposite deltas, so that a replay nets them out.
+         */
+        private void compensate() {
+            onRollback.run();
+            if (appended) {
+                try {
+                    record(negate(deltas));
+                } catch (RuntimeException e) {
+                    log.error("InventoryLedger | compensate | cannot journal rolled back stock deltas: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * The in-memory stock of one book, spread over several counters.
+     */
+    private static final class Slot {
+
+        private final AtomicIntegerArray cells;
+
+        private final AtomicInteger pending = new AtomicInteger();
+
+        private Slot(int stock, int stripes) {
+            this.cells = new AtomicIntegerArray(Math.max(1, stripes));
+            spread(stock);
+        }
+
+        private int available() {
+            int total = 0;
+            for (int i = 0; i < cells.length(); i++) {
+                total += cells.get(i);
+            }
+            return total;
+        }
+
+        /**
+         * Takes the amount from a single counter with one CAS if possible, and falls back to
+         * collecting it from several counters otherwise.
+         */
+        private boolean tryTake(int amount) {
+            final int count = cells.length();
+            final int start = ThreadLocalRandom.current().nextInt(count);
+            for (int i = 0; i < count; i++) {
+                int index = (start + i) % count;
+                for (int current = cells.get(index); current >= amount; current = cells.get(index)) {
+                    if (cells.compareAndSet(index, current, current - amount)) {
+                        return true;
+                    }
+                }
+            }
+            return takeAcrossCells(amount, start);
+        }
+
+        private synchronized boolean takeAcrossCells(int amount, int start) {
+            final int count = cells.length();
+            final int[] taken = new int[count];
+            int remaining = amount;
+            for (int i = 0; i < count && remaining > 0; i++) {
+                int index = (start + i) % count;
+                int current = cells.get(index);
+                int take = Math.min(current, remaining);
+                while (take > 0 && !cells.compareAndSet(index, current, current - take)) {
+                    current = cells.get(index);
+                    take = Math.min(current, remaining);
+                }
+                if (take > 0) {
+                    taken[index] = take;
+                    remaining -= take;
+                }
+            }
+            if (remaining > 0) {
+                for (int i = 0; i < count; i++) {
+                    if (taken[i] > 0) {
+                        cells.addAndGet(i, taken[i]);
+                    }
+                }
+                return false;
+            }
+            return true;
+        }
+
+        private void give(int amount) {
+            cells.addAndGet(ThreadLocalRandom.current().nextInt(cells.length()), amount);
+        }
+
+        /**
+         * Replaces the available stock and returns the stock that was available before.
+         */
+        private synchronized int resetTo(int stock) {
+            int previous = 0;
+            for (int i = 0; i < cells.length(); i++) {
+                previous += cells.getAndSet(i, 0);
+            }
+            spread(stock);
+            return previous;
+        }
+
+        private void spread(int stock) {
+            final int count = cells.length();
+            for (int i = 0; i < count; i++) {
+                cells.addAndGet(i, stock / count + (i < stock % count ? 1 : 0));
+            }
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.springframework.bookdelivery.mapper;
 
 import com.springframework.bookdelivery.dto.BookDTO;
+import com.springframework.bookdelivery.dto.BookSearchDTO;
 import com.springframework.bookdelivery.entity.Book;
 import com.springframework.bookdelivery.payload.request.book.BookCreateRequest;
 import com.springframework.bookdelivery.payload.request.book.BookUpdateRequest;
@@ -98,6 +99,17 @@ public class BookMapper {
         return CustomPageResponse.of(sources.map(BookMapper::toGetResponse));
     }
 
+    /**
+     * Converts a {@link BookSearchDTO} to a {@link CustomPageResponse<BookGetResponse>}.
+     *
+     * @param source The source {@link BookSearchDTO} to be converted.
+     * @return A {@link CustomPageResponse<BookGetResponse>} containing converted data and the next cursor.
+     */
+    public static CustomPageResponse<BookGetResponse> toSearchResponse(BookSearchDTO source) {
+
+        return CustomPageResponse.of(source.getBooks().map(BookMapper::toGetResponse), source.getNextCursor());
+    }
+
     /**
      * Converts a {@link BookDTO} to a {@link BookUpdatedResponse}.
      *
@@ -1,10 +1,10 @@
 package com.springframework.bookdelivery.mapper;
 
 import com.springframework.bookdelivery.dto.OrderItemDTO;
+import com.springframework.bookdelivery.dto.OrderItemRowDTO;
 import com.springframework.bookdelivery.entity.Book;
 import com.springframework.bookdelivery.entity.OrderItem;
 import lombok.experimental.UtilityClass;
-import org.w3c.dom.stylesheets.LinkStyle;
 
 import java.util.Collection;
 import java.util.List;
@@ -23,6 +23,9 @@ public class OrderItemMapper {
         return OrderItemDTO.builder()
                 .id(orderItem.getId())
                 .book(toBook(orderItem.getBook()))
+                .quantity(orderItem.getQuantity())
+                .unitPrice(orderItem.getUnitPrice())
+                .lineTotal(orderItem.getLineTotal())
                 .build();
     }
 
@@ -39,6 +42,28 @@ public class OrderItemMapper {
 
     }
 
+    /**
+     * Converts an {@link OrderItemRowDTO} object to an {@link OrderItemDTO}.
+     *
+     * @param source The {@link OrderItemRowDTO} object to be converted.
+     * @return An {@link OrderItemDTO} containing data from the source row.
+     */
+    public OrderItemDTO toDTO(OrderItemRowDTO source) {
+        return OrderItemDTO.builder()
+                .id(source.getId())
+                .book(OrderItemDTO.OrderItemBook.builder()
+                        .id(source.getBookId())
+                        .name(source.getBookName())
+                        .authorFullName(source.getBookAuthorFullName())
+                        .isbn(source.getBookIsbn())
+                        .price(source.getBookPrice())
+                        .build())
+                .quantity(source.getQuantity())
+                .unitPrice(source.getUnitPrice())
+                .lineTotal(source.getLineTotal())
+                .build();
+    }
+
     private OrderItemDTO.OrderItemBook toBook(Book source) {
         return OrderItemDTO.OrderItemBook.builder()
                 .id(source.getId())
@@ -60,6 +85,9 @@ public class OrderItemMapper {
         return OrderItem.builder()
                 .id(orderItemDTO.getId())
                 .book(toBook(orderItemDTO.getBook()))
+                .quantity(orderItemDTO.getQuantity())
+                .unitPrice(orderItemDTO.getUnitPrice())
+                .lineTotal(orderItemDTO.getLineTotal())
                 .build();
     }
 
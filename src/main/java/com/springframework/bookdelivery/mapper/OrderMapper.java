@@ -1,14 +1,24 @@
 package com.springframework.bookdelivery.mapper;
 
 import com.springframework.bookdelivery.dto.OrderDTO;
+import com.springframework.bookdelivery.dto.OrderIntakeDTO;
+import com.springframework.bookdelivery.dto.OrderItemDTO;
+import com.springframework.bookdelivery.dto.OrderRowDTO;
+import com.springframework.bookdelivery.dto.UserDTO;
 import com.springframework.bookdelivery.entity.Order;
+import com.springframework.bookdelivery.payload.response.order.OrderAcceptedResponse;
 import com.springframework.bookdelivery.payload.response.order.OrderCreatedResponse;
 import com.springframework.bookdelivery.payload.response.order.OrderGetBetweenDatesResponse;
 import com.springframework.bookdelivery.payload.response.order.OrderGetByCustomerResponse;
 import com.springframework.bookdelivery.payload.response.order.OrderGetResponse;
+import com.springframework.bookdelivery.payload.response.order.OrderIntakeStatusResponse;
 import com.springframework.bookdelivery.payload.response.pagination.CustomPageResponse;
+import com.springframework.bookdelivery.util.OrderCursor;
 import lombok.experimental.UtilityClass;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
 
 @UtilityClass
 public class OrderMapper {
@@ -28,6 +38,27 @@ public class OrderMapper {
                 .build();
     }
 
+    /**
+     * Converts an {@link OrderRowDTO} and the items of the order to an {@link OrderDTO}.
+     *
+     * @param source     The {@link OrderRowDTO} object to be converted.
+     * @param orderItems The items of the order.
+     * @return An {@link OrderDTO} containing data from the source row and the items.
+     */
+    public static OrderDTO toOrderDTO(OrderRowDTO source, List<OrderItemDTO> orderItems) {
+        return OrderDTO.builder()
+                .id(source.getId())
+                .user(UserDTO.builder()
+                        .id(source.getUserId())
+                        .fullName(source.getUserFullName())
+                        .username(source.getUsername())
+                        .email(source.getUserEmail())
+                        .build())
+                .orderItems(orderItems)
+                .createdAt(source.getCreatedAt())
+                .build();
+    }
+
     /**
      * Converts an {@link OrderDTO} object to an {@link OrderGetResponse}.
      *
@@ -68,6 +99,16 @@ public class OrderMapper {
         return CustomPageResponse.of(sources.map(OrderMapper::toGetByCustomerResponse));
     }
 
+    /**
+     * Converts a {@link Slice<OrderDTO>} fetched with a cursor to a {@link CustomPageResponse<OrderGetByCustomerResponse>}.
+     *
+     * @param sources The source {@link Slice<OrderDTO>} to be converted.
+     * @return A {@link CustomPageResponse<OrderGetByCustomerResponse>} containing converted data and the next cursor.
+     */
+    public static CustomPageResponse<OrderGetByCustomerResponse> toGetByCustomerCursorResponse(Slice<OrderDTO> sources) {
+        return CustomPageResponse.of(sources.map(OrderMapper::toGetByCustomerResponse), nextCursor(sources));
+    }
+
     /**
      * Converts an {@link OrderDTO} object to an {@link OrderGetBetweenDatesResponse}.
      *
@@ -93,6 +134,16 @@ public class OrderMapper {
         return CustomPageResponse.of(sources.map(OrderMapper::toGetBetweenDatesResponse));
     }
 
+    /**
+     * Converts a {@link Slice<OrderDTO>} fetched with a cursor to a {@link CustomPageResponse<OrderGetBetweenDatesResponse>}.
+     *
+     * @param sources The source {@link Slice<OrderDTO>} to be converted.
+     * @return A {@link CustomPageResponse<OrderGetBetweenDatesResponse>} containing converted data and the next cursor.
+     */
+    public static CustomPageResponse<OrderGetBetweenDatesResponse> toGetBetweenDatesCursorResponses(Slice<OrderDTO> sources) {
+        return CustomPageResponse.of(sources.map(OrderMapper::toGetBetweenDatesResponse), nextCursor(sources));
+    }
+
     /**
      * Converts an {@link OrderDTO} object to an {@link Order}.
      *
@@ -125,5 +176,43 @@ public class OrderMapper {
                 .build();
     }
 
+    /**
+     * Converts an {@link OrderIntakeDTO} object to an {@link OrderAcceptedResponse}.
+     *
+     * @param source The {@link OrderIntakeDTO} object to be converted.
+     * @return An {@link OrderAcceptedResponse} containing data from the source DTO.
+     */
+    public static OrderAcceptedResponse toAcceptedResponse(OrderIntakeDTO source) {
+        return OrderAcceptedResponse.builder()
+                .ticketId(source.getTicketId())
+                .status(source.getStatus())
+                .acceptedAt(source.getAcceptedAt())
+                .build();
+    }
+
+    /**
+     * Converts an {@link OrderIntakeDTO} object to an {@link OrderIntakeStatusResponse}.
+     *
+     * @param source The {@link OrderIntakeDTO} object to be converted.
+     * @return An {@link OrderIntakeStatusResponse} containing data from the source DTO.
+     */
+    public static OrderIntakeStatusResponse toIntakeStatusResponse(OrderIntakeDTO source) {
+        return OrderIntakeStatusResponse.builder()
+                .ticketId(source.getTicketId())
+                .status(source.getStatus())
+                .orderId(source.getOrderId())
+                .message(source.getMessage())
+                .acceptedAt(source.getAcceptedAt())
+                .completedAt(source.getCompletedAt())
+                .build();
+    }
+
+    private static String nextCursor(Slice<OrderDTO> sources) {
+        if (!sources.hasNext() || sources.getContent().isEmpty()) {
+            return null;
+        }
+        final OrderDTO last = sources.getContent().get(sources.getContent().size() - 1);
+        return new OrderCursor(last.getCreatedAt(), last.getId()).encode();
+    }
 
 }
@@ -1,14 +1,35 @@
 package com.springframework.bookdelivery.mapper;
 
 import com.springframework.bookdelivery.dto.OrderReportDTO;
+import com.springframework.bookdelivery.entity.MonthlySalesRollup;
 import com.springframework.bookdelivery.payload.response.order.OrderReportResponse;
 import com.springframework.bookdelivery.payload.response.pagination.CustomPageResponse;
 import lombok.experimental.UtilityClass;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import java.time.Month;
+import java.time.format.TextStyle;
+import java.util.Locale;
 
 @UtilityClass
 public class OrderReportMapper {
 
+    /**
+     * Converts a {@link MonthlySalesRollup} row to an {@link OrderReportDTO}.
+     *
+     * @param source The {@link MonthlySalesRollup} row to be converted.
+     * @return An {@link OrderReportDTO} containing data from the source row.
+     */
+    public static OrderReportDTO toOrderReportDTO(MonthlySalesRollup source) {
+        return OrderReportDTO.builder()
+                .year(source.getSalesYear())
+                .month(Month.of(source.getSalesMonth()).getDisplayName(TextStyle.FULL, Locale.ENGLISH))
+                .totalOrderCount(source.getOrderCount())
+                .totalBookCount(source.getBookCount())
+                .totalPrice(source.getTotalPrice())
+                .build();
+    }
+
     /**
      * Converts an {@link OrderReportDTO} object to an {@link OrderReportResponse}.
      *
@@ -26,12 +47,12 @@ public class OrderReportMapper {
     }
 
     /**
-     * Converts a {@link Page<OrderReportDTO>} to a {@link CustomPageResponse<OrderReportResponse>}.
+     * Converts a {@link Slice<OrderReportDTO>} to a {@link CustomPageResponse<OrderReportResponse>}.
      *
-     * @param sources The source {@link Page<OrderReportDTO>} to be converted.
+     * @param sources The source {@link Slice<OrderReportDTO>} to be converted.
      * @return A {@link CustomPageResponse<OrderReportResponse>} containing converted data.
      */
-    public static CustomPageResponse<OrderReportResponse> toOrderReportResponseList(Page<OrderReportDTO> sources) {
+    public static CustomPageResponse<OrderReportResponse> toOrderReportResponseList(Slice<OrderReportDTO> sources) {
         return CustomPageResponse.of(sources.map(OrderReportMapper::toOrderReportResponse));
     }
 
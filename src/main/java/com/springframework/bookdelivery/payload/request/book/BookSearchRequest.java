@@ -0,0 +1,29 @@
+package com.springframework.bookdelivery.payload.request.book;
+
+import com.springframework.bookdelivery.payload.request.pagination.CursorPaginationRequest;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookSearchRequest {
+
+    /**
+     * The words to search for in the name, the author and the ISBN of the books.
+     */
+    @NotBlank
+    @Size(max = 100)
+    private String query;
+
+    @Valid
+    @NotNull
+    private CursorPaginationRequest cursorPaginationRequest;
+}
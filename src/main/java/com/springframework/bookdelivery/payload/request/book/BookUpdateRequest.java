@@ -27,6 +27,7 @@ public class BookUpdateRequest {
     @NotBlank
     private String authorFullName;
 
+    @NotNull
     @Min(value = 0)
     private Integer stock;
 
@@ -1,6 +1,7 @@
 package com.springframework.bookdelivery.payload.request.order;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -15,6 +16,7 @@ import java.util.Set;
 public class CreateOrderRequest {
 
     @Valid
+    @NotEmpty
     private Set<OrderItemRequest> orderDetailSet;
 
 }
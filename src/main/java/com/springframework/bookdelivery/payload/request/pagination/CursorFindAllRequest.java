@@ -0,0 +1,20 @@
+package com.springframework.bookdelivery.payload.request.pagination;
+
+import jakarta.validation.Valid;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CursorFindAllRequest {
+
+    @Valid
+    private DateIntervalRequest dateIntervalRequest;
+
+    @Valid
+    private CursorPaginationRequest cursorPaginationRequest;
+}
@@ -0,0 +1,38 @@
+package com.springframework.bookdelivery.payload.request.pagination;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPaginationRequest implements Paging {
+
+    /**
+     * The {@code nextCursor} of the previous page, absent for the first page.
+     */
+    private String cursor;
+
+    @Min(1)
+    @Max(50)
+    @Builder.Default
+    private int size = 5;
+
+    /**
+     * Converts the size of this instance to {@link Pageable}. The position of the page is given
+     * by the cursor, so the page number is always {@code 0}.
+     *
+     * @return Pageable
+     */
+    @Override
+    public Pageable toPageable() {
+        return PageRequest.ofSize(size);
+    }
+}
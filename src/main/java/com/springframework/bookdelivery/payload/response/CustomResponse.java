@@ -70,4 +70,20 @@ public class CustomResponse<T> {
                 .httpStatus(HttpStatus.CREATED)
                 .build();
     }
+
+    /**
+     * Generates a successful response with an HTTP status of 202 Accepted.
+     *
+     * @param response The response data to be included in the CustomResponse.
+     * @param <E>      The type of the response data.
+     * @return A CustomResponse object containing the provided response data.
+     */
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public static <E> CustomResponse<E> accepted(E response) {
+        return CustomResponse.<E>builder()
+                .response(response)
+                .isSuccess(true)
+                .httpStatus(HttpStatus.ACCEPTED)
+                .build();
+    }
 }
@@ -0,0 +1,18 @@
+package com.springframework.bookdelivery.payload.response.order;
+
+import com.springframework.bookdelivery.enums.OrderIntakeStatus;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderAcceptedResponse {
+
+    private String ticketId;
+    private OrderIntakeStatus status;
+    private LocalDateTime acceptedAt;
+}
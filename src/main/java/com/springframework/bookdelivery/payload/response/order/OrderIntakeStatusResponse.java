@@ -0,0 +1,23 @@
+package com.springframework.bookdelivery.payload.response.order;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.springframework.bookdelivery.enums.OrderIntakeStatus;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrderIntakeStatusResponse {
+
+    private String ticketId;
+    private OrderIntakeStatus status;
+    private Long orderId;
+    private String message;
+    private LocalDateTime acceptedAt;
+    private LocalDateTime completedAt;
+}
@@ -2,12 +2,15 @@ package com.springframework.bookdelivery.payload.response.pagination;
 
 import lombok.Builder;
 import lombok.Getter;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
 @Getter
 @Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class CustomPageResponse<T> {
 
     /**
@@ -26,12 +29,22 @@ public class CustomPageResponse<T> {
     private Integer pageSize;
 
     /**
-     * The total number of pages.
+     * Whether a page follows the current one.
+     */
+    private Boolean hasNext;
+
+    /**
+     * The cursor of the next page, present for responses created from a cursor request that have a next page.
+     */
+    private String nextCursor;
+
+    /**
+     * The total number of pages, absent for responses created from a {@link Slice}.
      */
     private Integer totalPageCount;
 
     /**
-     * The total number of elements across all pages.
+     * The total number of elements across all pages, absent for responses created from a {@link Slice}.
      */
     private Long totalElementCount;
 
@@ -47,9 +60,44 @@ public class CustomPageResponse<T> {
                 .content(page.getContent())
                 .pageNumber(page.getNumber())
                 .pageSize(page.getSize())
+                .hasNext(page.hasNext())
                 .totalPageCount(page.getTotalPages())
                 .totalElementCount(page.getTotalElements())
                 .build();
     }
 
+    /**
+     * Creates a CustomPageResponse from a Spring Data Slice object, without totals.
+     *
+     * @param slice The Spring Data Slice object to convert.
+     * @param <T>   The type of content elements in the response.
+     * @return A CustomPageResponse containing paginated data.
+     */
+    public static <T> CustomPageResponse<T> of(Slice<T> slice) {
+        return CustomPageResponse.<T>builder()
+                .content(slice.getContent())
+                .pageNumber(slice.getNumber())
+                .pageSize(slice.getSize())
+                .hasNext(slice.hasNext())
+                .build();
+    }
+
+    /**
+     * Creates a CustomPageResponse from a Spring Data Slice object fetched with a cursor, without
+     * a page number and totals.
+     *
+     * @param slice      The Spring Data Slice object to convert.
+     * @param nextCursor The cursor of the next page, or {@code null} if there is none.
+     * @param <T>        The type of content elements in the response.
+     * @return A CustomPageResponse containing paginated data.
+     */
+    public static <T> CustomPageResponse<T> of(Slice<T> slice, String nextCursor) {
+        return CustomPageResponse.<T>builder()
+                .content(slice.getContent())
+                .pageSize(slice.getSize())
+                .hasNext(slice.hasNext())
+                .nextCursor(nextCursor)
+                .build();
+    }
+
 }
@@ -1,26 +1,147 @@
 package com.springframework.bookdelivery.repository;
 
+import com.springframework.bookdelivery.dto.BookDTO;
 import com.springframework.bookdelivery.entity.Book;
-import jakarta.annotation.Nonnull;
 import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface BookRepository extends JpaRepository<Book, String> {
 
+    /**
+     * Reads a book straight into a {@link BookDTO}, without loading the entity, in a read-only transaction.
+     *
+     * @param id The unique identifier of the Book.
+     * @return An Optional containing the book if found, or an empty Optional if not found.
+     */
+    @Transactional(readOnly = true)
+    @Query("""
+        SELECT NEW com.springframework.bookdelivery.dto.BookDTO
+        (b.id,b.isbn,b.name,b.authorFullName,b.price,b.stock)
+        FROM Book b
+        WHERE b.id = :id
+    """)
+    Optional<BookDTO> findDTOById(@Param("id") String id);
+
+    /**
+     * Reads only the stock of a book, in a read-only transaction.
+     *
+     * @param id The unique identifier of the Book.
+     * @return An Optional containing the stock if the book is found, or an empty Optional if not found.
+     */
+    @Transactional(readOnly = true)
+    @Query("SELECT b.stock FROM Book b WHERE b.id = :id")
+    Optional<Integer> findStockById(@Param("id") String id);
+
+    /**
+     * Reads a page of books straight into {@link BookDTO} objects, without loading the entities,
+     * in a read-only transaction.
+     *
+     * @param pageable Pageable object specifying the page and sorting options.
+     * @return A Page containing the books.
+     */
+    @Transactional(readOnly = true)
+    @Query(value = """
+        SELECT NEW com.springframework.bookdelivery.dto.BookDTO
+        (b.id,b.isbn,b.name,b.authorFullName,b.price,b.stock)
+        FROM Book b
+    """, countQuery = "SELECT COUNT(b) FROM Book b")
+    Page<BookDTO> findAllDTOs(Pageable pageable);
+
+    /**
+     * Reads the latest creation or update time of any book, in a read-only transaction.
+     *
+     * @return An Optional containing the latest change time, or an empty Optional if there is no book.
+     */
+    @Transactional(readOnly = true)
+    @Query("SELECT MAX(COALESCE(b.updatedAt, b.createdAt)) FROM Book b")
+    Optional<LocalDateTime> findLastChangedAt();
+
+    /**
+     * Reads a slice of the books created or updated at or after the given time straight into
+     * {@link BookDTO} objects, without loading the entities and without a count query, in a
+     * read-only transaction.
+     *
+     * @param since    The time from which on changed books are read.
+     * @param pageable Pageable object specifying the page and sorting options.
+     * @return A Slice containing the changed books.
+     */
+    @Transactional(readOnly = true)
+    @Query("""
+        SELECT NEW com.springframework.bookdelivery.dto.BookDTO
+        (b.id,b.isbn,b.name,b.authorFullName,b.price,b.stock)
+        FROM Book b
+        WHERE b.updatedAt >= :since OR b.createdAt >= :since
+    """)
+    Slice<BookDTO> findAllDTOsChangedSince(@Param("since") LocalDateTime since, Pageable pageable);
+
+    /**
+     * Reads the books with the given ids straight into {@link BookDTO} objects, without loading the
+     * entities, in a read-only transaction.
+     *
+     * @param ids The unique identifiers of the Books.
+     * @return A list containing the books found, in no particular order.
+     */
+    @Transactional(readOnly = true)
+    @Query("""
+        SELECT NEW com.springframework.bookdelivery.dto.BookDTO
+        (b.id,b.isbn,b.name,b.authorFullName,b.price,b.stock)
+        FROM Book b
+        WHERE b.id IN :ids
+    """)
+    List<BookDTO> findAllDTOsByIdIn(@Param("ids") Collection<String> ids);
+
     /**
      * <p>Retrieves a Book entity by its unique identifier while applying
      * a pessimistic write lock on the database record to prevent concurrent updates.</p>
      * <p>Note: A pessimistic write lock ensures that only one transaction can write to
      * this specific database record at a time, preventing conflicts from concurrent updates.
-     * It helps maintain data integrity but may introduce slight performance overhead.</p>
+     * It helps maintain data integrity but may introduce slight performance overhead.
+     * Use it only on the stock-mutation paths; plain lookups go through the lock-free
+     * {@link #findById(Object)}.</p>
      * @param id The unique identifier of the Book.
      * @return An Optional containing the Book entity if found, or an empty Optional if not found.
      */
     @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Nonnull
-    // Added to suppress warning
-    Optional<Book> findById(@Nonnull String id);
+    @Query("SELECT b FROM Book b WHERE b.id = :id")
+    Optional<Book> findForUpdate(@Param("id") String id);
+
+    /**
+     * <p>Retrieves all Book entities with the given identifiers in a single
+     * {@code SELECT ... FOR UPDATE} statement.</p>
+     * <p>The rows are read in ascending id order, so every transaction that goes through
+     * this method acquires its row locks in the same order.</p>
+     *
+     * @param ids The unique identifiers of the Books.
+     * @return The Book entities found, ordered by id.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Book b WHERE b.id IN :ids ORDER BY b.id")
+    List<Book> findAllForUpdateByIdIn(@Param("ids") Collection<String> ids);
+
+    /**
+     * <p>Decrements the stock of a Book by the given amount, only if enough stock is left.</p>
+     * <p>The check and the decrement run as one guarded {@code UPDATE} statement, so no row
+     * has to be read and locked beforehand. A result of {@code 0} means that either the Book
+     * does not exist or its stock is lower than the requested amount.</p>
+     *
+     * @param id     The unique identifier of the Book.
+     * @param amount The amount to be taken from the stock.
+     * @return The number of updated rows, {@code 1} on success and {@code 0} otherwise.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Book b SET b.stock = b.stock - :amount WHERE b.id = :id AND b.stock >= :amount")
+    int decrementStockIfAvailable(@Param("id") String id, @Param("amount") int amount);
 }
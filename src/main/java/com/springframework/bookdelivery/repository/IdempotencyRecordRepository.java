@@ -0,0 +1,34 @@
+package com.springframework.bookdelivery.repository;
+
+import com.springframework.bookdelivery.entity.IdempotencyRecord;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+
+    /**
+     * Retrieves the record of an idempotency key sent by a specific user.
+     *
+     * @param userId         The unique identifier of the user.
+     * @param idempotencyKey The idempotency key sent by the user.
+     * @return An {@link Optional} containing the record if the key has been seen before.
+     */
+    Optional<IdempotencyRecord> findByUserIdAndIdempotencyKey(Long userId, String idempotencyKey);
+
+    /**
+     * Deletes every record that has been created before the given time.
+     *
+     * @param threshold The creation time before which records are deleted.
+     * @return The number of deleted records.
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.createdAt < :threshold")
+    int deleteAllCreatedBefore(@Param("threshold") LocalDateTime threshold);
+}
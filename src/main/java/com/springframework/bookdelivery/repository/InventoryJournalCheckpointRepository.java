@@ -0,0 +1,7 @@
+package com.springframework.bookdelivery.repository;
+
+import com.springframework.bookdelivery.entity.InventoryJournalCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface InventoryJournalCheckpointRepository extends JpaRepository<InventoryJournalCheckpoint, String> {
+}
@@ -0,0 +1,66 @@
+package com.springframework.bookdelivery.repository;
+
+import com.springframework.bookdelivery.entity.MonthlySalesRollup;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+
+public interface MonthlySalesRollupRepository extends JpaRepository<MonthlySalesRollup, Long> {
+
+    /**
+     * <p>Retrieves the monthly sales of a customer, newest month first.</p>
+     * <p>The rows are read through the unique index on (CUSTOMER_ID, SALES_YEAR, SALES_MONTH),
+     * so the cost depends on the number of months only. Use {@link MonthlySalesRollup#ALL_CUSTOMERS}
+     * as the customer id to retrieve the sales of all customers.</p>
+     * <p>A {@link Slice} is returned so that no count query runs; one extra row is fetched to tell
+     * whether a next page exists.</p>
+     *
+     * @param customerId The ID of the customer.
+     * @param pageable   The pagination information.
+     * @return A {@link Slice} of {@link MonthlySalesRollup} rows.
+     */
+    @Query("""
+        SELECT r FROM MonthlySalesRollup r
+        WHERE r.customerId = :customerId
+        ORDER BY r.salesYear DESC, r.salesMonth DESC
+    """)
+    Slice<MonthlySalesRollup> findAllByCustomerId(@Param("customerId") Long customerId, Pageable pageable);
+
+    /**
+     * Adds the sales of some orders to the row of the given customer and month with a single {@code UPDATE}.
+     *
+     * @param customerId The customer id whose row is incremented.
+     * @param salesYear  The year of the month.
+     * @param salesMonth The month of the year, from 1 to 12.
+     * @param orderCount The number of orders.
+     * @param bookCount  The number of books in the orders.
+     * @param totalPrice The total price of the orders.
+     * @return The number of updated rows, 0 if the row does not exist yet.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+        UPDATE MonthlySalesRollup r
+        SET r.orderCount = r.orderCount + :orderCount,
+            r.bookCount = r.bookCount + :bookCount,
+            r.totalPrice = r.totalPrice + :totalPrice
+        WHERE r.customerId = :customerId AND r.salesYear = :salesYear AND r.salesMonth = :salesMonth
+    """)
+    int increment(@Param("customerId") Long customerId,
+                  @Param("salesYear") Integer salesYear,
+                  @Param("salesMonth") Integer salesMonth,
+                  @Param("orderCount") Long orderCount,
+                  @Param("bookCount") Long bookCount,
+                  @Param("totalPrice") BigDecimal totalPrice);
+
+    /**
+     * Deletes every row of the rollup.
+     */
+    @Modifying
+    @Query("DELETE FROM MonthlySalesRollup r")
+    void deleteAllRows();
+}
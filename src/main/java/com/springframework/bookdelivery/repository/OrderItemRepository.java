@@ -1,7 +1,52 @@
 package com.springframework.bookdelivery.repository;
 
+import com.springframework.bookdelivery.dto.MonthlySalesDTO;
+import com.springframework.bookdelivery.dto.OrderItemRowDTO;
 import com.springframework.bookdelivery.entity.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
+
+    /**
+     * <p>Aggregates the monthly sales of every customer from the order items.</p>
+     * <p>
+     * This method retrieves, per customer and month, the following items:
+     * <p>- Total count of orders</p>
+     * <p>- Total count of ordered books</p>
+     * <p>- Total price</p>
+     *
+     * <p>This scans every order item and is only used to rebuild the MONTHLY_SALES_ROLLUP table;
+     * the statistics endpoints read from the rollup.</p>
+     *
+     * @return A list of {@link MonthlySalesDTO} objects, one per customer and month.
+     */
+    @Query("""
+        SELECT NEW com.springframework.bookdelivery.dto.MonthlySalesDTO
+        (i.order.user.id,EXTRACT(YEAR FROM i.createdAt),EXTRACT(MONTH FROM i.createdAt),
+         COUNT(DISTINCT i.order.id),SUM(i.quantity),SUM(i.lineTotal))
+        FROM OrderItem i
+        GROUP BY i.order.user.id,EXTRACT(YEAR FROM i.createdAt),EXTRACT(MONTH FROM i.createdAt)
+    """)
+    List<MonthlySalesDTO> aggregateMonthlySales();
+
+    /**
+     * Retrieves the items of the given orders together with their books, without loading any entity.
+     *
+     * @param orderIds The unique identifiers of the orders.
+     * @return A list of {@link OrderItemRowDTO} objects, ordered by item id.
+     */
+    @Query("""
+        SELECT NEW com.springframework.bookdelivery.dto.OrderItemRowDTO
+        (i.order.id,i.id,b.id,b.isbn,b.name,b.authorFullName,b.price,i.quantity,i.unitPrice,i.lineTotal)
+        FROM OrderItem i JOIN i.book b
+        WHERE i.order.id IN :orderIds
+        ORDER BY i.id
+    """)
+    List<OrderItemRowDTO> findAllRowsByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+
 }
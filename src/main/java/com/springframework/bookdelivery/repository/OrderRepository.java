@@ -1,18 +1,40 @@
 package com.springframework.bookdelivery.repository;
 
-import com.springframework.bookdelivery.dto.OrderReportDTO;
+import com.springframework.bookdelivery.dto.OrderRowDTO;
 import com.springframework.bookdelivery.entity.Order;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Optional;
 
+/**
+ * The read queries of this repository build {@link OrderRowDTO} objects straight from the rows of
+ * ORDERS joined with USERS, without loading any entity. The items of the returned orders are read
+ * in one more statement with {@link OrderItemRepository#findAllRowsByOrderIdIn}, so reading a page
+ * of orders costs a fixed number of statements whatever the page size.
+ */
 public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order> {
 
+    /**
+     * Retrieves an order together with its user.
+     *
+     * @param id The unique identifier of the order.
+     * @return An Optional containing the order if found, or an empty Optional if not found.
+     */
+    @Query("""
+        SELECT NEW com.springframework.bookdelivery.dto.OrderRowDTO
+        (o.id,o.createdAt,u.id,u.fullName,u.username,u.email)
+        FROM Order o JOIN o.user u
+        WHERE o.id = :id
+    """)
+    Optional<OrderRowDTO> findRowById(@Param("id") Long id);
+
     /**
      * Retrieves a page of orders associated with a specific user.
      *
@@ -20,65 +42,112 @@ public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecific
      * @param orderPageable Pageable object specifying the page and sorting options.
      * @return A Page containing the orders associated with the user.
      */
-    Page<Order> findAllByUserId(Long userId, Pageable orderPageable);
+    @Query(value = """
+        SELECT NEW com.springframework.bookdelivery.dto.OrderRowDTO
+        (o.id,o.createdAt,u.id,u.fullName,u.username,u.email)
+        FROM Order o JOIN o.user u
+        WHERE u.id = :userId
+    """, countQuery = "SELECT COUNT(o) FROM Order o WHERE o.user.id = :userId")
+    Page<OrderRowDTO> findAllRowsByUserId(@Param("userId") Long userId, Pageable orderPageable);
 
     /**
      * Retrieves a page of orders created within a specified time range.
      *
      * @param startDate     The start date of the time range.
-     * @param endTime       The end date of the time range.
+     * @param endDate       The end date of the time range.
      * @param orderPageable Pageable object specifying the page and sorting options.
      * @return A Page containing the orders created within the specified time range.
      */
-    Page<Order> findAllByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endTime, Pageable orderPageable);
+    @Query(value = """
+        SELECT NEW com.springframework.bookdelivery.dto.OrderRowDTO
+        (o.id,o.createdAt,u.id,u.fullName,u.username,u.email)
+        FROM Order o JOIN o.user u
+        WHERE o.createdAt BETWEEN :startDate AND :endDate
+    """, countQuery = "SELECT COUNT(o) FROM Order o WHERE o.createdAt BETWEEN :startDate AND :endDate")
+    Page<OrderRowDTO> findAllRowsByCreatedAtBetween(@Param("startDate") LocalDateTime startDate,
+                                                    @Param("endDate") LocalDateTime endDate,
+                                                    Pageable orderPageable);
 
     /**
-     * <p>Retrieves a paginated list of order statistics for a specific customer.</p>
-     * <p>
-     * This method retrieves a paginated list of order statistics, including the following items:
-     * <p>- Total count of orders</p>
-     * <p>- Total count of unique books</p>
-     * <p>- Total price</p>
+     * Retrieves the first slice of the orders of a specific user, newest first.
      *
-     * <p>The statistics are grouped by the month and year of order creation date, and are ordered by
-     * year in descending order.</p>
+     * @param userId   The unique identifier of the user.
+     * @param pageable Pageable object specifying the slice size.
+     * @return A Slice containing the newest orders of the user.
+     */
+    @Query("""
+        SELECT NEW com.springframework.bookdelivery.dto.OrderRowDTO
+        (o.id,o.createdAt,u.id,u.fullName,u.username,u.email)
+        FROM Order o JOIN o.user u
+        WHERE u.id = :userId
+        ORDER BY o.createdAt DESC, o.id DESC
+    """)
+    Slice<OrderRowDTO> findFirstRowSliceByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * Retrieves the slice of the orders of a specific user that follows the given position, newest first.
      *
-     * @param customerId The ID of the customer for whom the order statistics are to be retrieved.
-     * @param pageable   The pagination information.
-     * @return A {@link Page} of {@link OrderReportDTO} objects containing the order statistics.
+     * @param userId    The unique identifier of the user.
+     * @param createdAt The creation time of the last order of the previous slice.
+     * @param id        The id of the last order of the previous slice.
+     * @param pageable  Pageable object specifying the slice size.
+     * @return A Slice containing the orders of the user that are older than the given position.
      */
     @Query("""
-        SELECT NEW com.springframework.bookdelivery.dto.OrderReportDTO
-        (FUNCTION('MONTHNAME',o.createdAt),FUNCTION('YEAR',o.createdAt),COUNT(o.id),COUNT(b.id),SUM(b.price))
-        FROM Order o INNER JOIN o.orderItems items INNER JOIN items.book b 
-        WHERE (o.user.id = :customerId) 
-        GROUP BY FUNCTION('MONTHNAME',o.createdAt),FUNCTION('YEAR',o.createdAt) 
-        ORDER BY FUNCTION('YEAR', o.createdAt) DESC
+        SELECT NEW com.springframework.bookdelivery.dto.OrderRowDTO
+        (o.id,o.createdAt,u.id,u.fullName,u.username,u.email)
+        FROM Order o JOIN o.user u
+        WHERE u.id = :userId
+        AND (o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id))
+        ORDER BY o.createdAt DESC, o.id DESC
     """)
-    Page<OrderReportDTO> findOrderStatisticsByCustomerId(@Param("customerId") Long customerId, Pageable pageable);
+    Slice<OrderRowDTO> findRowSliceByUserIdAfter(@Param("userId") Long userId,
+                                                 @Param("createdAt") LocalDateTime createdAt,
+                                                 @Param("id") Long id,
+                                                 Pageable pageable);
 
     /**
-     * <p>Retrieves a paginated list of order statistics for all customers.</p>
-     * <p>
-     * This method retrieves a paginated list of order statistics, including the following items:
-     * <p>- Total count of orders</p>
-     * <p>- Total count of unique books</p>
-     * <p>- Total price</p>
+     * Retrieves the first slice of the orders created within a specified time range, oldest first.
      *
-     * <p>The statistics are grouped by the month and year of order creation date, and are ordered by
-     * year in descending order.</p>
+     * @param startDate The start date of the time range.
+     * @param endDate   The end date of the time range.
+     * @param pageable  Pageable object specifying the slice size.
+     * @return A Slice containing the oldest orders of the time range.
+     */
+    @Query("""
+        SELECT NEW com.springframework.bookdelivery.dto.OrderRowDTO
+        (o.id,o.createdAt,u.id,u.fullName,u.username,u.email)
+        FROM Order o JOIN o.user u
+        WHERE o.createdAt BETWEEN :startDate AND :endDate
+        ORDER BY o.createdAt, o.id
+    """)
+    Slice<OrderRowDTO> findFirstRowSliceByCreatedAtBetween(@Param("startDate") LocalDateTime startDate,
+                                                           @Param("endDate") LocalDateTime endDate,
+                                                           Pageable pageable);
+
+    /**
+     * Retrieves the slice of the orders created within a specified time range that follows the
+     * given position, oldest first.
      *
-     * @param pageable The pagination information.
-     * @return A {@link Page} of {@link OrderReportDTO} objects containing the order statistics.
+     * @param startDate The start date of the time range.
+     * @param endDate   The end date of the time range.
+     * @param createdAt The creation time of the last order of the previous slice.
+     * @param id        The id of the last order of the previous slice.
+     * @param pageable  Pageable object specifying the slice size.
+     * @return A Slice containing the orders of the time range that are newer than the given position.
      */
     @Query("""
-        SELECT NEW com.springframework.bookdelivery.dto.OrderReportDTO
-        (FUNCTION('MONTHNAME',o.createdAt),FUNCTION('YEAR',o.createdAt),COUNT(o.id),COUNT(b.id),SUM(b.price))
-        FROM Order o INNER JOIN o.orderItems items INNER JOIN items.book b 
-        GROUP BY FUNCTION('MONTHNAME',o.createdAt),FUNCTION('YEAR',o.createdAt) 
-        ORDER BY FUNCTION('YEAR', o.createdAt) DESC
-    """
-    )
-    Page<OrderReportDTO> findAllOrderStatistics(Pageable pageable);
+        SELECT NEW com.springframework.bookdelivery.dto.OrderRowDTO
+        (o.id,o.createdAt,u.id,u.fullName,u.username,u.email)
+        FROM Order o JOIN o.user u
+        WHERE o.createdAt BETWEEN :startDate AND :endDate
+        AND (o.createdAt > :createdAt OR (o.createdAt = :createdAt AND o.id > :id))
+        ORDER BY o.createdAt, o.id
+    """)
+    Slice<OrderRowDTO> findRowSliceByCreatedAtBetweenAfter(@Param("startDate") LocalDateTime startDate,
+                                                           @Param("endDate") LocalDateTime endDate,
+                                                           @Param("createdAt") LocalDateTime createdAt,
+                                                           @Param("id") Long id,
+                                                           Pageable pageable);
 
 }
@@ -1,37 +1,70 @@
 package com.springframework.bookdelivery.repository;
 
 import com.springframework.bookdelivery.entity.RefreshToken;
-import com.springframework.bookdelivery.entity.User;
+import jakarta.transaction.Transactional;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.util.Optional;
 
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
 
+    /**
+     * Retrieves a refresh token by the SHA-256 digest of its token string.
+     *
+     * @param tokenHash The hex encoded SHA-256 digest of the token string.
+     * @return An Optional containing the RefreshToken entity if found, or an empty Optional if not found.
+     */
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
 
     /**
-     * Retrieves a refresh token associated with a specific user.
+     * Replaces the token digest and expiry time of the refresh token of a specific user.
      *
-     * @param userId The unique identifier of the user.
-     * @return The RefreshToken entity associated with the user, or null if not found.
+     * @param userId    The unique identifier of the user.
+     * @param tokenHash The digest of the new token string.
+     * @param expiresAt The new expiry time.
+     * @return The number of refresh tokens updated, {@code 0} if the user has none yet.
      */
-    RefreshToken findByUserId(Long userId);
+    @Transactional
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.tokenHash = :tokenHash, r.expiresAt = :expiresAt WHERE r.user.id = :userId")
+    int rotateByUserId(@Param("userId") Long userId, @Param("tokenHash") String tokenHash,
+                       @Param("expiresAt") Instant expiresAt);
 
     /**
-     * Retrieves a refresh token by its token string.
+     * Moves the expiry time of a refresh token.
      *
-     * @param token The token string of the refresh token.
-     * @return An Optional containing the RefreshToken entity if found, or an empty Optional if not found.
+     * @param tokenHash The digest of the token string.
+     * @param expiresAt The new expiry time.
+     * @return The number of refresh tokens updated.
      */
-    Optional<RefreshToken> findByToken(String token);
+    @Transactional
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.expiresAt = :expiresAt WHERE r.tokenHash = :tokenHash")
+    int extendByTokenHash(@Param("tokenHash") String tokenHash, @Param("expiresAt") Instant expiresAt);
 
     /**
-     * Deletes refresh tokens associated with a specific user.
+     * Deletes the refresh token of a specific user.
      *
-     * @param user The User entity whose refresh tokens should be deleted.
+     * @param userId The unique identifier of the user.
      * @return The number of refresh tokens deleted.
      */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.user.id = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    /**
+     * Deletes every refresh token that has expired before the given time.
+     *
+     * @param threshold The time before which expired tokens are deleted.
+     * @return The number of deleted refresh tokens.
+     */
+    @Transactional
     @Modifying
-    int deleteByUser(User user);
+    @Query("DELETE FROM RefreshToken r WHERE r.expiresAt < :threshold")
+    int deleteAllExpiredBefore(@Param("threshold") Instant threshold);
 }
@@ -0,0 +1,32 @@
+package com.springframework.bookdelivery.repository;
+
+import com.springframework.bookdelivery.entity.SalesRollupChange;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface SalesRollupChangeRepository extends JpaRepository<SalesRollupChange, Long> {
+
+    /**
+     * Retrieves the oldest changes and locks them until the end of the transaction, so that two
+     * consumers never add the same change to the rollup.
+     *
+     * @param pageable The number of changes to be retrieved.
+     * @return The oldest {@link SalesRollupChange} rows, in insertion order.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM SalesRollupChange c ORDER BY c.id")
+    List<SalesRollupChange> findOldestForUpdate(Pageable pageable);
+
+    /**
+     * Deletes every change that has not been consumed yet.
+     */
+    @Modifying
+    @Query("DELETE FROM SalesRollupChange c")
+    void deleteAllRows();
+}
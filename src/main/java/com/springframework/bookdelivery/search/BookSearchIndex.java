@@ -0,0 +1,388 @@
+package com.springframework.bookdelivery.search;
+
+import com.springframework.bookdelivery.dto.BookDTO;
+import com.springframework.bookdelivery.event.BookChangedEvent;
+import com.springframework.bookdelivery.exception.book.BookSearchIndexException;
+import com.springframework.bookdelivery.repository.BookRepository;
+import com.springframework.bookdelivery.util.BookSearchCursor;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.SortedDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * <p>An embedded Lucene index over the name, the author and the ISBN of every book, stored under
+ * {@code search.books.directory}.</p>
+ * <p>The index is kept up to date from {@link BookChangedEvent}s once the writing transaction has
+ * committed, and every change is visible to the next search. Every {@code search.books.commit-interval-ms}
+ * the books created or updated in the BOOKS table since the last commit are indexed again and the
+ * changes are committed to disk together with that point in time, the high-water mark. The same
+ * catch-up runs once the application has started, so the changes lost by a crash before a commit and
+ * the changes made through other nodes reach the index as well. An index without a high-water mark
+ * is rebuilt from the whole table.</p>
+ * <p>Every word of a query has to match the name or the author, exactly, as a prefix or within a
+ * small edit distance, with exact matches ranked first. A query that is the start of an ISBN
+ * matches regardless of its hyphens. The hits are ranked by {@code (score DESC, id)}, and the next
+ * page is found with {@link IndexSearcher#searchAfter} from a {@link BookSearchCursor}.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookSearchIndex {
+
+    static final String ID = "id";
+    static final String NAME = "name";
+    static final String AUTHOR_FULL_NAME = "authorFullName";
+    static final String ISBN = "isbn";
+
+    static final String CHANGED_UP_TO = "changedUpTo";
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private static final Sort RANKING = new Sort(SortField.FIELD_SCORE, new SortField(ID, SortField.Type.STRING));
+
+    @Value("${search.books.directory}")
+    String directory;
+
+    @Value("${search.books.catch-up-overlap-ms}")
+    long catchUpOverlapMs;
+
+    private final BookRepository bookRepository;
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+
+    private IndexWriter writer;
+
+    private SearcherManager searcherManager;
+
+    private LocalDateTime changedUpTo;
+
+    /**
+     * Opens the index and reads the high-water mark of its last commit.
+     */
+    @PostConstruct
+    void open() {
+        try {
+            writer = new IndexWriter(FSDirectory.open(Path.of(directory)), new IndexWriterConfig(analyzer));
+            searcherManager = new SearcherManager(writer, null);
+        } catch (IOException e) {
+            throw new BookSearchIndexException(e.getMessage());
+        }
+        final Iterable<Map.Entry<String, String>> commitData = writer.getLiveCommitData();
+        if (commitData != null) {
+            for (Map.Entry<String, String> entry : commitData) {
+                if (CHANGED_UP_TO.equals(entry.getKey())) {
+                    changedUpTo = LocalDateTime.parse(entry.getValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * Brings the index up to date with the BOOKS table once the application has started. A failure
+     * is only logged, so that the application still starts; the next commit catches up instead.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUpOnStart() {
+        try {
+            catchUp();
+        } catch (IOException | RuntimeException e) {
+            log.error("BookSearchIndex | catchUpOnStart | cannot bring the book index up to date: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Adds the changed book to the index, or replaces its previous version.
+     *
+     * @param event The event describing the changed book.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        try {
+            writer.updateDocument(new Term(ID, event.getBookId()), toDocument(event));
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            log.error("BookSearchIndex | onBookChanged | cannot index book {}: {}", event.getBookId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Searches the books matching the given query, best match first.
+     *
+     * @param text   The words to search for.
+     * @param cursor The {@code nextCursor} of the previous page, or {@code null} for the first page.
+     * @param size   The maximum number of hits.
+     * @return The ids of the matching books in the order of their rank.
+     */
+    public Hits search(String text, String cursor, int size) {
+
+        final Query query = toQuery(text);
+        if (query == null) {
+            return new Hits(List.of(), false, null);
+        }
+
+        IndexSearcher searcher = null;
+        try {
+            searcher = searcherManager.acquire();
+            final TopDocs topDocs;
+            if (cursor == null || cursor.isBlank()) {
+                topDocs = searcher.search(query, size + 1, RANKING, true);
+            } else {
+                final BookSearchCursor position = BookSearchCursor.decode(cursor);
+                // the id is unique, so the doc id only breaks the tie with the book of the cursor itself
+                final FieldDoc after = new FieldDoc(searcher.getIndexReader().maxDoc() - 1, position.getScore(),
+                        new Object[]{position.getScore(), new BytesRef(position.getId())});
+                topDocs = searcher.searchAfter(after, query, size + 1, RANKING, true);
+            }
+
+            final List<String> bookIds = new ArrayList<>(size);
+            float lastScore = 0f;
+            for (int index = 0; index < Math.min(size, topDocs.scoreDocs.length); index++) {
+                ScoreDoc scoreDoc = topDocs.scoreDocs[index];
+                bookIds.add(searcher.storedFields().document(scoreDoc.doc).get(ID));
+                lastScore = scoreDoc.score;
+            }
+
+            final boolean hasNext = topDocs.scoreDocs.length > size;
+            final String nextCursor = hasNext
+                    ? new BookSearchCursor(lastScore, bookIds.get(bookIds.size() - 1)).encode()
+                    : null;
+            return new Hits(bookIds, hasNext, nextCursor);
+        } catch (IOException e) {
+            throw new BookSearchIndexException(e.getMessage());
+        } finally {
+            release(searcher);
+        }
+    }
+
+    /**
+     * Indexes the books changed in the BOOKS table since the last commit and commits them with the
+     * new high-water mark, so that they survive a restart.
+     */
+    @Scheduled(fixedDelayString = "${search.books.commit-interval-ms}",
+            initialDelayString = "${search.books.commit-interval-ms}")
+    public void commit() {
+        try {
+            catchUp();
+        } catch (IOException | RuntimeException e) {
+            log.error("BookSearchIndex | commit | cannot commit the book index: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Indexes every book created or updated since the high-water mark of the last commit, less
+     * {@code search.books.catch-up-overlap-ms} for transactions that committed late and for clock skew
+     * between the nodes, and commits the index with the latest change time found in the table.
+     * Without a high-water mark every book is indexed. Indexing a book again only replaces it.
+     */
+    synchronized void catchUp() throws IOException {
+
+        final LocalDateTime latest = bookRepository.findLastChangedAt().orElse(null);
+        if (changedUpTo == null) {
+            rebuild();
+        } else if (latest != null && !latest.isBefore(changedUpTo)) {
+            final LocalDateTime since = changedUpTo.minus(catchUpOverlapMs, ChronoUnit.MILLIS);
+            Slice<BookDTO> books = bookRepository.findAllDTOsChangedSince(since,
+                    PageRequest.of(0, REBUILD_BATCH_SIZE, org.springframework.data.domain.Sort.by(ID)));
+            while (true) {
+                index(books);
+                if (!books.hasNext()) {
+                    break;
+                }
+                books = bookRepository.findAllDTOsChangedSince(since, books.nextPageable());
+            }
+        }
+
+        if (latest != null && !latest.equals(changedUpTo)) {
+            changedUpTo = latest;
+            writer.setLiveCommitData(Map.of(CHANGED_UP_TO, latest.toString()).entrySet());
+            writer.commit();
+        } else if (writer.hasUncommittedChanges()) {
+            writer.commit();
+        }
+        searcherManager.maybeRefreshBlocking();
+    }
+
+    /**
+     * Commits the remaining changes and closes the index.
+     */
+    @PreDestroy
+    void close() {
+        try {
+            searcherManager.close();
+            writer.close();
+        } catch (IOException e) {
+            log.error("BookSearchIndex | close | cannot close the book index: {}", e.getMessage());
+        }
+    }
+
+    private void rebuild() throws IOException {
+        Page<BookDTO> books = bookRepository.findAllDTOs(
+                PageRequest.of(0, REBUILD_BATCH_SIZE, org.springframework.data.domain.Sort.by(ID)));
+        while (true) {
+            index(books);
+            if (!books.hasNext()) {
+                break;
+            }
+            books = bookRepository.findAllDTOs(books.nextPageable());
+        }
+        log.info("BookSearchIndex | rebuild | indexed {} books", books.getTotalElements());
+    }
+
+    private void index(Slice<BookDTO> books) throws IOException {
+        for (BookDTO book : books) {
+            writer.updateDocument(new Term(ID, book.getId()), toDocument(new BookChangedEvent(
+                    book.getId(), book.getIsbn(), book.getName(), book.getAuthorFullName())));
+        }
+    }
+
+    private Document toDocument(BookChangedEvent book) {
+        final Document document = new Document();
+        document.add(new StringField(ID, book.getBookId(), Field.Store.YES));
+        document.add(new SortedDocValuesField(ID, new BytesRef(book.getBookId())));
+        if (book.getName() != null) {
+            document.add(new TextField(NAME, book.getName(), Field.Store.NO));
+        }
+        if (book.getAuthorFullName() != null) {
+            document.add(new TextField(AUTHOR_FULL_NAME, book.getAuthorFullName(), Field.Store.NO));
+        }
+        if (book.getIsbn() != null) {
+            document.add(new StringField(ISBN, normalizeIsbn(book.getIsbn()), Field.Store.NO));
+        }
+        return document;
+    }
+
+    /**
+     * Builds the query for the given words: each word has to match the name or the author,
+     * while the whole text may instead match the start of an ISBN.
+     *
+     * @param text The words to search for.
+     * @return The query, or {@code null} if the text holds no searchable word.
+     */
+    private Query toQuery(String text) {
+
+        final List<String> words = analyze(text);
+        final BooleanQuery.Builder query = new BooleanQuery.Builder();
+
+        if (!words.isEmpty()) {
+            final BooleanQuery.Builder allWords = new BooleanQuery.Builder();
+            for (String word : words) {
+                allWords.add(new BooleanQuery.Builder()
+                        .add(matchWord(NAME, word, 2f), BooleanClause.Occur.SHOULD)
+                        .add(matchWord(AUTHOR_FULL_NAME, word, 1f), BooleanClause.Occur.SHOULD)
+                        .build(), BooleanClause.Occur.MUST);
+            }
+            query.add(allWords.build(), BooleanClause.Occur.SHOULD);
+        }
+
+        final String isbn = normalizeIsbn(text);
+        if (!isbn.isEmpty()) {
+            query.add(new BoostQuery(new PrefixQuery(new Term(ISBN, isbn)), 4f), BooleanClause.Occur.SHOULD);
+        }
+
+        final BooleanQuery built = query.build();
+        return built.clauses().isEmpty() ? null : built;
+    }
+
+    private static Query matchWord(String field, String word, float boost) {
+        final Term term = new Term(field, word);
+        final BooleanQuery.Builder match = new BooleanQuery.Builder()
+                .add(new BoostQuery(new TermQuery(term), 3f * boost), BooleanClause.Occur.SHOULD)
+                .add(new BoostQuery(new PrefixQuery(term), 2f * boost), BooleanClause.Occur.SHOULD);
+        final int maxEdits = word.length() < 3 ? 0 : word.length() < 6 ? 1 : 2;
+        if (maxEdits > 0) {
+            match.add(new BoostQuery(new FuzzyQuery(term, maxEdits, 1), boost), BooleanClause.Occur.SHOULD);
+        }
+        return match.build();
+    }
+
+    private List<String> analyze(String text) {
+        final List<String> words = new ArrayList<>();
+        try (TokenStream tokens = analyzer.tokenStream(NAME, text)) {
+            final CharTermAttribute term = tokens.addAttribute(CharTermAttribute.class);
+            tokens.reset();
+            while (tokens.incrementToken()) {
+                words.add(term.toString());
+            }
+            tokens.end();
+        } catch (IOException e) {
+            throw new BookSearchIndexException(e.getMessage());
+        }
+        return words;
+    }
+
+    private static String normalizeIsbn(String isbn) {
+        return isbn.replaceAll("[^0-9A-Za-z]", "").toLowerCase(Locale.ROOT);
+    }
+
+    private void release(IndexSearcher searcher) {
+        if (searcher == null) {
+            return;
+        }
+        try {
+            searcherManager.release(searcher);
+        } catch (IOException e) {
+            log.warn("BookSearchIndex | release | cannot release searcher: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * The ids of the books found by a search, in the order of their rank.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Hits {
+
+        private final List<String> bookIds;
+        private final boolean hasNext;
+        private final String nextCursor;
+    }
+}
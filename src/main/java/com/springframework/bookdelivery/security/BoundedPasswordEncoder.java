@@ -0,0 +1,116 @@
+package com.springframework.bookdelivery.security;
+
+import com.springframework.bookdelivery.exception.user.PasswordHashingBusyException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * A {@link PasswordEncoder} that runs every hash computation of its delegate on a dedicated,
+ * bounded thread pool.
+ * <p>At most {@code threads} hashes are computed at once, so a login storm cannot take more CPU
+ * than that away from the other endpoints. Up to {@code queueCapacity} further checks wait for a
+ * hashing thread; any check beyond that, or one that waits longer than {@code timeoutMs}, fails
+ * immediately with a {@link PasswordHashingBusyException} (503) instead of holding a request thread.</p>
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+
+    private final ThreadPoolExecutor executor;
+
+    private final long timeoutMs;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, long timeoutMs,
+                                  MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.timeoutMs = timeoutMs;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new HashingThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "passwordHashing");
+    }
+
+    /**
+     * Encodes the raw password on the hashing pool.
+     *
+     * @param rawPassword The password to be encoded.
+     * @return The encoded password.
+     */
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return hash(() -> delegate.encode(rawPassword));
+    }
+
+    /**
+     * Verifies the raw password against the encoded one on the hashing pool.
+     *
+     * @param rawPassword     The password to be verified.
+     * @param encodedPassword The stored encoded password.
+     * @return {@code true} if the passwords match.
+     */
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return hash(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Checks whether the encoded password should be encoded again, e.g. because it uses an older
+     * algorithm or a lower cost. This does not compute a hash and runs on the calling thread.
+     *
+     * @param encodedPassword The stored encoded password.
+     * @return {@code true} if the password should be encoded again.
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Stops the hashing pool.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T hash(Supplier<T> computation) {
+
+        final Future<T> future;
+        try {
+            future = executor.submit(computation::get);
+        } catch (RejectedExecutionException e) {
+            throw new PasswordHashingBusyException(executor.getQueue().size());
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new PasswordHashingBusyException(executor.getQueue().size());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusyException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static final class HashingThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
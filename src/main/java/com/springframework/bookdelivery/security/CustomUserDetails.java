@@ -1,8 +1,12 @@
 package com.springframework.bookdelivery.security;
 
 import com.springframework.bookdelivery.entity.User;
-import lombok.AllArgsConstructor;
+import com.springframework.bookdelivery.enums.Role;
+import com.springframework.bookdelivery.enums.TokenClaims;
+import io.jsonwebtoken.Claims;
+import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -10,18 +14,50 @@ import org.springframework.security.core.userdetails.UserDetails;
 import java.io.Serial;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
 
+/**
+ * The principal of an authenticated user.
+ * <p>Instances are shared: in {@link com.springframework.bookdelivery.enums.AuthenticationMode#DATABASE}
+ * mode the same instance is served from the user details cache for every request of the user.
+ * The authorities are one shared, unmodifiable collection per {@link Role}, and the token claims
+ * are built once, on first use, as an unmodifiable map.</p>
+ */
 @Getter
-@AllArgsConstructor
+@RequiredArgsConstructor
 public class CustomUserDetails implements UserDetails {
 
 
     @Serial
     private static final long serialVersionUID = 4514751530271704280L;
 
+    private static final Map<Role, Collection<GrantedAuthority>> AUTHORITIES_BY_ROLE = authoritiesByRole();
+
     private final User user;
 
+    @Getter(AccessLevel.NONE)
+    private transient volatile Map<String, Object> claims;
+
+    /**
+     * Rebuilds the user details from the claims of a verified JWT token, without loading the user.
+     * <p>The rebuilt {@link User} is not managed and has no password.</p>
+     *
+     * @param claims The claims of a verified token, as written by {@link User#getClaims()}.
+     * @return A CustomUserDetails object representing the user of the token.
+     */
+    public static CustomUserDetails fromClaims(Claims claims) {
+        final User user = User.builder()
+                .id(Long.valueOf(claims.get(TokenClaims.ID.getValue()).toString()))
+                .username(claims.get(TokenClaims.USERNAME.getValue(), String.class))
+                .email(claims.get(TokenClaims.EMAIL.getValue(), String.class))
+                .fullName(claims.get(TokenClaims.USER_FULL_NAME.getValue(), String.class))
+                .role(Role.valueOf(((List<?>) claims.get(TokenClaims.ROLES.getValue())).get(0).toString()))
+                .build();
+        return new CustomUserDetails(user);
+    }
+
     /**
      * Returns the authorities (roles) granted to the user.
      *
@@ -29,7 +65,7 @@ public class CustomUserDetails implements UserDetails {
      */
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return Collections.singleton(new SimpleGrantedAuthority(user.getRole().name()));
+        return AUTHORITIES_BY_ROLE.get(user.getRole());
     }
 
     /**
@@ -113,10 +149,23 @@ public class CustomUserDetails implements UserDetails {
     /**
      * Returns additional claims associated with the user.
      *
-     * @return A map of additional claims.
+     * @return An unmodifiable map of additional claims.
      */
     public Map<String, Object> getClaims() {
-        return user.getClaims();
+        Map<String, Object> result = claims;
+        if (result == null) {
+            result = Collections.unmodifiableMap(user.getClaims());
+            claims = result;
+        }
+        return result;
+    }
+
+    private static Map<Role, Collection<GrantedAuthority>> authoritiesByRole() {
+        final Map<Role, Collection<GrantedAuthority>> authorities = new EnumMap<>(Role.class);
+        for (Role role : Role.values()) {
+            authorities.put(role, List.of(new SimpleGrantedAuthority(role.name())));
+        }
+        return Collections.unmodifiableMap(authorities);
     }
 
 }
@@ -1,23 +1,59 @@
 package com.springframework.bookdelivery.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.springframework.bookdelivery.entity.User;
+import com.springframework.bookdelivery.event.UserChangedEvent;
 import com.springframework.bookdelivery.service.UserService;
-import lombok.AllArgsConstructor;
-import lombok.Getter;
-import org.springframework.security.core.userdetails.UserDetailsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
 
 @Service
-@AllArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+@RequiredArgsConstructor
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
+
+    @Value("${security.authentication.user-cache.max-size}")
+    long userCacheMaxSize;
+
+    @Value("${security.authentication.user-cache.ttl-ms}")
+    long userCacheTtlMs;
 
     private final UserService userService;
 
+    private final MeterRegistry meterRegistry;
+
+    private Cache<String, CustomUserDetails> userDetailsByEmail;
+
+    /**
+     * Creates the bounded user details cache and registers its hit, miss and eviction metrics
+     * under the cache name {@code userDetails}.
+     */
+    @PostConstruct
+    void createCache() {
+        userDetailsByEmail = Caffeine.newBuilder()
+                .maximumSize(userCacheMaxSize)
+                .expireAfterWrite(Duration.ofMillis(userCacheTtlMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, userDetailsByEmail, "userDetails");
+    }
+
     /**
      * Load user details by username.
+     * <p>The user details are cached by email for {@code security.authentication.user-cache.ttl-ms};
+     * the cached entry is dropped as soon as a change to the user commits.</p>
      *
      * @param username The username (in this case, the user's email address).
      * @return A UserDetails object representing the user, or throw a UsernameNotFoundException if the user is not found.
@@ -25,6 +61,44 @@ public class CustomUserDetailsService implements UserDetailsService {
      */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        return userDetailsByEmail.get(username, this::loadUser);
+    }
+
+    /**
+     * Stores a password that has been encoded again after a successful login, e.g. with a higher
+     * BCrypt cost.
+     *
+     * @param user        The user whose password has been encoded again.
+     * @param newPassword The newly encoded password.
+     * @return The user details with the new password.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        final String email = ((CustomUserDetails) user).getUser().getEmail();
+        return userService.updatePassword(email, newPassword)
+                .map(CustomUserDetails::new)
+                .orElseThrow(() -> new UsernameNotFoundException("User Name " + email + " not found"));
+    }
+
+    /**
+     * Drops the cached user details of a user once a change to the user has been committed.
+     * <p>The entry is looked up by email and by id, so a changed email address does not leave
+     * the details under the old address behind.</p>
+     *
+     * @param event The event describing the changed user.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.getEmail() != null) {
+            userDetailsByEmail.invalidate(event.getEmail());
+        }
+        if (event.getUserId() != null) {
+            userDetailsByEmail.asMap().values()
+                    .removeIf(userDetails -> event.getUserId().equals(userDetails.getId()));
+        }
+    }
+
+    private CustomUserDetails loadUser(String username) {
 
         User user = null;
         try {
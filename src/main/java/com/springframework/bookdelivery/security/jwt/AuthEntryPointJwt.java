@@ -33,8 +33,6 @@ public class AuthEntryPointJwt implements AuthenticationEntryPoint {
     public void commence(HttpServletRequest request, HttpServletResponse response,
                          AuthenticationException authException) throws IOException, ServletException {
 
-        LOGGER.error("AuthEntryPointJwt | commence | Unauthorized error: {}", authException.getMessage());
-
         response.setContentType(MediaType.APPLICATION_JSON_VALUE);
         response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
 
@@ -44,10 +42,10 @@ public class AuthEntryPointJwt implements AuthenticationEntryPoint {
         body.put("message", authException.getMessage());
         body.put("path", request.getServletPath());
 
-        LOGGER.info("AuthEntryPointJwt | commence | status: {}", HttpServletResponse.SC_UNAUTHORIZED);
-        LOGGER.info("AuthEntryPointJwt | commence | error: {}", "Unauthorized");
-        LOGGER.info("AuthEntryPointJwt | commence | message: {}", authException.getMessage());
-        LOGGER.info("AuthEntryPointJwt | commence | path: {}", request.getServletPath());
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("AuthEntryPointJwt | commence | Unauthorized error: {}, path: {}",
+                    authException.getMessage(), request.getServletPath());
+        }
 
         final ObjectMapper mapper = new ObjectMapper();
         mapper.writeValue(response.getOutputStream(), body);
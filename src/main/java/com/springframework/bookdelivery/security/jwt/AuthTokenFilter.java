@@ -1,6 +1,9 @@
 package com.springframework.bookdelivery.security.jwt;
 
+import com.springframework.bookdelivery.enums.AuthenticationMode;
+import com.springframework.bookdelivery.security.CustomUserDetails;
 import com.springframework.bookdelivery.security.CustomUserDetailsService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -15,17 +18,31 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Log4j2
 @AllArgsConstructor
 public class AuthTokenFilter extends OncePerRequestFilter{
 
-    private final JwtUtils jwtUtils;
+    private final JwtTokenVerifier jwtTokenVerifier;
 
     private final CustomUserDetailsService customUserDetailsService;
 
+    private final TokenDenyList tokenDenyList;
+
+    private final AuthenticationMode authenticationMode;
+
+    private final int diagnosticsSampleRate;
+
     /**
      * Filters incoming HTTP requests to process JWT tokens and set the authenticated user if the token is valid.
+     * <p>The token is parsed and verified once; its claims stay available as the
+     * {@link JwtTokenVerifier#CLAIMS_ATTRIBUTE} request attribute for the rest of the request.
+     * Tokens whose {@code jti} is on the {@link TokenDenyList} are ignored; the check is a single
+     * in-memory lookup. In {@link AuthenticationMode#STATELESS} mode the principal is rebuilt from
+     * the claims, otherwise the user is loaded from the database.</p>
+     * <p>Token contents are never logged. With DEBUG enabled, one in {@code diagnosticsSampleRate}
+     * requests logs how long the authentication took.</p>
      *
      * @param request     The incoming HttpServletRequest.
      * @param response    The HttpServletResponse for sending responses.
@@ -37,16 +54,23 @@ public class AuthTokenFilter extends OncePerRequestFilter{
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
 
+        final boolean sampled = log.isDebugEnabled()
+                && ThreadLocalRandom.current().nextInt(diagnosticsSampleRate) == 0;
+        final long startedAt = sampled ? System.nanoTime() : 0L;
+
         try {
 
             String jwt = parseJwt(request);
-            log.error("AuthTokenFilter | doFilterInternal | jwt: {}", jwt);
 
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
+            Claims claims = jwt != null
+                    ? jwtTokenVerifier.verify(jwt).filter(verified -> !tokenDenyList.isDenied(verified)).orElse(null)
+                    : null;
 
-                String email = jwtUtils.getEmailFromToken(jwt);
+            if (claims != null) {
 
-                UserDetails userDetails = customUserDetailsService.loadUserByUsername(email);
+                UserDetails userDetails = authenticationMode == AuthenticationMode.STATELESS
+                        ? CustomUserDetails.fromClaims(claims)
+                        : customUserDetailsService.loadUserByUsername(JwtUtils.getEmail(claims));
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -54,7 +78,14 @@ public class AuthTokenFilter extends OncePerRequestFilter{
                 SecurityContextHolder.getContext().setAuthentication(authentication);
             }
         } catch (Exception e) {
-            log.error("AuthTokenFilter | doFilterInternal | Cannot set user authentication: {}", e.getMessage());
+            log.warn("AuthTokenFilter | doFilterInternal | Cannot set user authentication: {}", e.getClass().getSimpleName());
+        }
+
+        if (sampled) {
+            log.debug("AuthTokenFilter | doFilterInternal | mode: {}, authenticated: {}, took: {} us",
+                    authenticationMode,
+                    SecurityContextHolder.getContext().getAuthentication() != null,
+                    (System.nanoTime() - startedAt) / 1_000L);
         }
 
         filterChain.doFilter(request, response);
@@ -70,13 +101,8 @@ public class AuthTokenFilter extends OncePerRequestFilter{
 
         String headerAuth = request.getHeader("Authorization");
 
-        log.info("AuthTokenFilter | parseJwt | headerAuth: {}", headerAuth);
-
         if (StringUtils.hasText(headerAuth) && headerAuth.startsWith("Bearer ")) {
-
-            log.info("AuthTokenFilter | parseJwt | parseJwt: {}", headerAuth.substring(7, headerAuth.length()));
-
-            return headerAuth.substring(7, headerAuth.length());
+            return headerAuth.substring(7);
         }
 
         return null;
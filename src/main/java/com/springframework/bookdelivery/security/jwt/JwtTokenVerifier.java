@@ -0,0 +1,102 @@
+package com.springframework.bookdelivery.security.jwt;
+
+import io.jsonwebtoken.*;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.security.Key;
+import java.util.Optional;
+
+/**
+ * Verifies JWT tokens with a signing key and a {@link JwtParser} that are built once at startup.
+ * <p>Both are immutable and thread-safe, so every request reuses them instead of decoding the
+ * secret and building a parser again. The claims of a verified token are kept as request attributes,
+ * so when {@link AuthTokenFilter} and a later step of the same request verify the same token, it is
+ * parsed and its signature checked only once.</p>
+ */
+@Component
+@Log4j2
+public class JwtTokenVerifier {
+
+    /**
+     * The name of the request attribute holding the verified {@link Claims} of the current request.
+     */
+    public static final String CLAIMS_ATTRIBUTE = JwtTokenVerifier.class.getName() + ".CLAIMS";
+
+    private static final String TOKEN_ATTRIBUTE = JwtTokenVerifier.class.getName() + ".TOKEN";
+
+    @Value("${jwt.secret}")
+    private String jwtSecret;
+
+    private Key signingKey;
+
+    private JwtParser jwtParser;
+
+    /**
+     * Decodes the JWT secret into the signing key and builds the parser.
+     */
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
+
+    /**
+     * Returns the key used to sign and verify tokens.
+     *
+     * @return The HMAC signing key.
+     */
+    Key getSigningKey() {
+        return signingKey;
+    }
+
+    /**
+     * Verifies the signature and expiration of a JWT token and returns its claims.
+     *
+     * @param token The JWT token as a string.
+     * @return A Claims object containing the token's claims.
+     * @throws JwtException If the token is invalid or expired.
+     */
+    public Claims parse(String token) {
+        return jwtParser.parseClaimsJws(token).getBody();
+    }
+
+    /**
+     * Verifies the signature and expiration of a JWT token and returns its claims if it is valid.
+     * <p>Within a web request, a token that has already been verified is not parsed again.</p>
+     *
+     * @param token The JWT token as a string.
+     * @return An {@link Optional} containing the token's claims, or an empty Optional if the token is invalid.
+     */
+    public Optional<Claims> verify(String token) {
+
+        final RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null && token != null
+                && token.equals(attributes.getAttribute(TOKEN_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST))) {
+            return Optional.of((Claims) attributes.getAttribute(CLAIMS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST));
+        }
+
+        try {
+            Claims claims = parse(token);
+            if (attributes != null) {
+                attributes.setAttribute(TOKEN_ATTRIBUTE, token, RequestAttributes.SCOPE_REQUEST);
+                attributes.setAttribute(CLAIMS_ATTRIBUTE, claims, RequestAttributes.SCOPE_REQUEST);
+            }
+            return Optional.of(claims);
+        } catch (JwtException | IllegalArgumentException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("JwtTokenVerifier | verify | Rejected JWT token: {}", e.getClass().getSimpleName());
+            }
+        }
+
+        return Optional.empty();
+    }
+}
@@ -2,28 +2,30 @@ package com.springframework.bookdelivery.security.jwt;
 
 import com.springframework.bookdelivery.enums.TokenClaims;
 import com.springframework.bookdelivery.security.CustomUserDetails;
-import io.jsonwebtoken.*;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
-import java.security.Key;
 import java.util.Date;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 
 @Component
 @Log4j2
+@RequiredArgsConstructor
 public class JwtUtils {
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
-
     @Value("${jwt.expireMs}")
     private int jwtExpirationMs;
 
+    private final JwtTokenVerifier jwtTokenVerifier;
+
     /**
      * Generates a JWT token based on the provided authentication details.
      *
@@ -38,6 +40,8 @@ public class JwtUtils {
 
     /**
      * Creates a JWT token with the given claims and subject.
+     * <p>The given claims are copied, never modified.</p>
+     * <p>Every token gets a random {@code jti} claim, which identifies it on the {@link TokenDenyList}.</p>
      *
      * @param claims  The claims to include in the token.
      * @param subject The subject (typically the username) for the token.
@@ -50,9 +54,10 @@ public class JwtUtils {
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(subject)
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(now)
                 .setExpiration(expirationDate)
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(jwtTokenVerifier.getSigningKey(), SignatureAlgorithm.HS256)
                 .compact();
     }
 
@@ -63,33 +68,27 @@ public class JwtUtils {
      * @return A JWT token as a string.
      */
     public String generateJwtToken(CustomUserDetails customUserDetails) {
-        Map<String, Object> claims = customUserDetails.getClaims();
-        claims.put(TokenClaims.ID.getValue(), customUserDetails.getId());
-        return createToken(claims, customUserDetails.getUsername());
+        return createToken(customUserDetails.getClaims(), customUserDetails.getUsername());
     }
 
     /**
-     * Retrieves the signing key from the JWT secret.
+     * Extracts the claims (payload) from a JWT token.
      *
-     * @return A Key object representing the signing key.
+     * @param token The JWT token as a string.
+     * @return A Claims object containing the token's claims.
      */
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
-        return Keys.hmacShaKeyFor(keyBytes);
+    public Claims extractClaims(String token) {
+        return jwtTokenVerifier.parse(token);
     }
 
     /**
-     * Extracts the claims (payload) from a JWT token.
+     * Verifies a JWT token once and returns its claims if it is valid.
      *
      * @param token The JWT token as a string.
-     * @return A Claims object containing the token's claims.
+     * @return An {@link Optional} containing the token's claims, or an empty Optional if the token is invalid.
      */
-    public Claims extractClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    public Optional<Claims> verify(String token) {
+        return jwtTokenVerifier.verify(token);
     }
 
     /**
@@ -99,7 +98,17 @@ public class JwtUtils {
      * @return The user's ID as a Long.
      */
     public Long getIdFromToken(String token) {
-        String idValue = extractClaims(token).get(TokenClaims.ID.getValue()).toString();
+        return getId(extractClaims(token));
+    }
+
+    /**
+     * Retrieves the user's ID from the claims of a verified JWT token.
+     *
+     * @param claims The claims of the token.
+     * @return The user's ID as a Long.
+     */
+    public static Long getId(Claims claims) {
+        String idValue = claims.get(TokenClaims.ID.getValue()).toString();
         Double doubleValue = Double.parseDouble(idValue);
         return doubleValue.longValue();
     }
@@ -111,7 +120,17 @@ public class JwtUtils {
      * @return The user's email as a string.
      */
     public String getEmailFromToken(String token) {
-        return extractClaims(token).get(TokenClaims.EMAIL.getValue()).toString();
+        return getEmail(extractClaims(token));
+    }
+
+    /**
+     * Retrieves the user's email from the claims of a verified JWT token.
+     *
+     * @param claims The claims of the token.
+     * @return The user's email as a string.
+     */
+    public static String getEmail(Claims claims) {
+        return claims.get(TokenClaims.EMAIL.getValue()).toString();
     }
 
     /**
@@ -122,22 +141,7 @@ public class JwtUtils {
      */
     public boolean validateJwtToken(String authToken) {
 
-        log.info("JwtUtils | validateJwtToken | authToken: {}", authToken);
-
-        try {
-            Jwts.parserBuilder().setSigningKey(getSignInKey()).build().parseClaimsJws(authToken);
-            return true;
-        } catch (MalformedJwtException e) {
-            log.error("JwtUtils | validateJwtToken | Invalid JWT token: {}", e.getMessage());
-        } catch (ExpiredJwtException e) {
-            log.error("JwtUtils | validateJwtToken | JWT token is expired: {}", e.getMessage());
-        } catch (UnsupportedJwtException e) {
-            log.error("JwtUtils | validateJwtToken | JWT token is unsupported: {}", e.getMessage());
-        } catch (IllegalArgumentException e) {
-            log.error("JwtUtils | validateJwtToken | JWT claims string is empty: {}", e.getMessage());
-        }
-
-        return false;
+        return jwtTokenVerifier.verify(authToken).isPresent();
     }
 
     /**
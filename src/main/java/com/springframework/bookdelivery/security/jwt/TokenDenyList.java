@@ -0,0 +1,116 @@
+package com.springframework.bookdelivery.security.jwt;
+
+import io.jsonwebtoken.Claims;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A small in-memory list of access tokens that have been revoked before their expiration,
+ * e.g. on logout.
+ * <p>Tokens are identified by their {@code jti} claim and grouped into one bucket per minute of
+ * expiration. A lookup goes straight to the bucket of the token's {@code exp} claim, so checking a
+ * token is a single hash lookup. Once a minute every bucket whose tokens have all expired is
+ * dropped as a whole, since an expired token is rejected anyway, so the list only holds the tokens
+ * that are still valid.</p>
+ * <p>The list is bounded by {@code security.authentication.deny-list.max-size} and is local to
+ * this instance. While the list is disabled, or for a token that does not fit any more or has no
+ * {@code jti} claim, nothing is revoked and {@link #deny(Claims)} says so, so that the caller never
+ * reports a revocation that did not happen.</p>
+ */
+@Log4j2
+@Component
+public class TokenDenyList {
+
+    private static final long BUCKET_SECONDS = 60L;
+
+    @Value("${security.authentication.deny-list.enabled}")
+    private boolean enabled;
+
+    @Value("${security.authentication.deny-list.max-size}")
+    private long maxSize;
+
+    private final ConcurrentNavigableMap<Long, Set<String>> bucketsByExpiryMinute = new ConcurrentSkipListMap<>();
+
+    private final AtomicLong size = new AtomicLong();
+
+    /**
+     * Revokes an access token until it expires.
+     * <p>A place on the list is reserved before the token is added, so concurrent calls never take
+     * the list beyond its bound.</p>
+     *
+     * @param claims The claims of the verified access token to be revoked.
+     * @return {@code true} if the token is revoked or has expired already; {@code false} if the list
+     * is disabled, the token has no {@code jti} claim or the list is full.
+     */
+    public boolean deny(Claims claims) {
+        if (!enabled || claims.getId() == null || claims.getExpiration() == null) {
+            return false;
+        }
+
+        Instant expiresAt = claims.getExpiration().toInstant();
+        if (!expiresAt.isAfter(Instant.now())) {
+            return true;
+        }
+        if (size.incrementAndGet() > maxSize) {
+            size.decrementAndGet();
+            log.warn("TokenDenyList | deny | the deny list is full, the token is not revoked");
+            return false;
+        }
+
+        if (!bucketsByExpiryMinute.computeIfAbsent(bucket(expiresAt), minute -> ConcurrentHashMap.newKeySet())
+                .add(claims.getId())) {
+            size.decrementAndGet();
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of revoked tokens that have not been dropped yet.
+     *
+     * @return The number of tokens on the list.
+     */
+    public long size() {
+        return size.get();
+    }
+
+    /**
+     * Checks whether an access token has been revoked.
+     *
+     * @param claims The claims of the verified access token to be checked.
+     * @return {@code true} if the token has been revoked and has not expired yet.
+     */
+    public boolean isDenied(Claims claims) {
+        if (!enabled || claims.getId() == null || claims.getExpiration() == null) {
+            return false;
+        }
+        Set<String> bucket = bucketsByExpiryMinute.get(bucket(claims.getExpiration().toInstant()));
+        return bucket != null && bucket.contains(claims.getId());
+    }
+
+    /**
+     * Drops every bucket whose tokens have all expired.
+     */
+    @Scheduled(initialDelay = BUCKET_SECONDS * 1_000L, fixedRate = BUCKET_SECONDS * 1_000L)
+    void purgeExpired() {
+        ConcurrentNavigableMap<Long, Set<String>> expired = bucketsByExpiryMinute.headMap(bucket(Instant.now()));
+        expired.keySet().forEach(minute -> {
+            Set<String> bucket = bucketsByExpiryMinute.remove(minute);
+            if (bucket != null) {
+                size.addAndGet(-bucket.size());
+            }
+        });
+    }
+
+    private static long bucket(Instant expiresAt) {
+        return expiresAt.getEpochSecond() / BUCKET_SECONDS;
+    }
+}
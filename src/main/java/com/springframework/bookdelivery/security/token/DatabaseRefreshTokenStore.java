@@ -0,0 +1,76 @@
+package com.springframework.bookdelivery.security.token;
+
+import com.springframework.bookdelivery.entity.RefreshToken;
+import com.springframework.bookdelivery.entity.User;
+import com.springframework.bookdelivery.repository.RefreshTokenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * A {@link RefreshTokenStore} that reads and writes the REFRESH_TOKENS table directly.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class DatabaseRefreshTokenStore implements RefreshTokenStore {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    /**
+     * Stores the refresh token of a user, replacing the previous one.
+     * <p>The existing row of the user is rotated in place with a single {@code UPDATE}, without
+     * reading it first. Only if the user has no row yet, a new one is inserted. If a concurrent
+     * login has inserted it in the meantime, the {@code UPDATE} is repeated.</p>
+     *
+     * @param user      The user the token belongs to.
+     * @param tokenHash The digest of the token string.
+     * @param expiresAt The expiry time of the token.
+     */
+    @Override
+    public void save(User user, String tokenHash, Instant expiresAt) {
+
+        if (refreshTokenRepository.rotateByUserId(user.getId(), tokenHash, expiresAt) > 0) {
+            return;
+        }
+
+        try {
+            refreshTokenRepository.save(RefreshToken.builder()
+                    .user(user)
+                    .tokenHash(tokenHash)
+                    .expiresAt(expiresAt)
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            log.debug("DatabaseRefreshTokenStore | save | token of user {} has been created concurrently", user.getId());
+            refreshTokenRepository.rotateByUserId(user.getId(), tokenHash, expiresAt);
+        }
+    }
+
+    @Override
+    public Optional<RefreshTokenEntry> find(String tokenHash) {
+        return refreshTokenRepository.findByTokenHash(tokenHash)
+                .map(refreshToken -> RefreshTokenEntry.builder()
+                        .tokenHash(refreshToken.getTokenHash())
+                        .userId(refreshToken.getUser().getId())
+                        .email(refreshToken.getUser().getEmail())
+                        .expiresAt(refreshToken.getExpiresAt())
+                        .build());
+    }
+
+    @Override
+    public int extend(RefreshTokenEntry entry, Instant expiresAt) {
+        return refreshTokenRepository.extendByTokenHash(entry.getTokenHash(), expiresAt);
+    }
+
+    @Override
+    public int deleteByUserId(Long userId) {
+        return refreshTokenRepository.deleteByUserId(userId);
+    }
+
+    @Override
+    public int deleteExpired(Instant threshold) {
+        return refreshTokenRepository.deleteAllExpiredBefore(threshold);
+    }
+}
@@ -0,0 +1,123 @@
+package com.springframework.bookdelivery.security.token;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.springframework.bookdelivery.entity.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link RefreshTokenStore} that serves lookups from a bounded in-memory index of token digests
+ * and writes every change through to a {@link DatabaseRefreshTokenStore}.
+ * <p>Every entry is evicted as soon as its token expires. A digest missing from the index, e.g.
+ * after a restart or an eviction by size, is looked up in the database and indexed again, so the
+ * bound only limits memory, not correctness. The index is registered as the cache
+ * {@code refreshTokens} in the meter registry.</p>
+ */
+public class IndexedRefreshTokenStore implements RefreshTokenStore {
+
+    private final DatabaseRefreshTokenStore database;
+
+    private final Cache<String, RefreshTokenEntry> entriesByHash;
+
+    private final ConcurrentMap<Long, String> hashesByUserId = new ConcurrentHashMap<>();
+
+    public IndexedRefreshTokenStore(DatabaseRefreshTokenStore database, long maxSize, MeterRegistry meterRegistry) {
+        this.database = database;
+        this.entriesByHash = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, RefreshTokenEntry>() {
+                    @Override
+                    public long expireAfterCreate(String tokenHash, RefreshTokenEntry entry, long currentTime) {
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0L, entry.getExpiresAt().toEpochMilli() - System.currentTimeMillis()));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String tokenHash, RefreshTokenEntry entry, long currentTime, long currentDuration) {
+                        return expireAfterCreate(tokenHash, entry, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String tokenHash, RefreshTokenEntry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .removalListener((String tokenHash, RefreshTokenEntry entry, RemovalCause cause) -> {
+                    if (entry != null) {
+                        hashesByUserId.remove(entry.getUserId(), tokenHash);
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, entriesByHash, "refreshTokens");
+    }
+
+    @Override
+    public void save(User user, String tokenHash, Instant expiresAt) {
+        database.save(user, tokenHash, expiresAt);
+        index(RefreshTokenEntry.builder()
+                .tokenHash(tokenHash)
+                .userId(user.getId())
+                .email(user.getEmail())
+                .expiresAt(expiresAt)
+                .build());
+    }
+
+    @Override
+    public Optional<RefreshTokenEntry> find(String tokenHash) {
+        RefreshTokenEntry entry = entriesByHash.getIfPresent(tokenHash);
+        if (entry != null) {
+            return Optional.of(entry);
+        }
+        Optional<RefreshTokenEntry> stored = database.find(tokenHash);
+        stored.ifPresent(this::index);
+        return stored;
+    }
+
+    /**
+     * Extends the token in the database and indexes the new expiry time. If the token is no longer
+     * stored, e.g. because the user has logged out on another node, its stale index entry is dropped.
+     */
+    @Override
+    public int extend(RefreshTokenEntry entry, Instant expiresAt) {
+        int extended = database.extend(entry, expiresAt);
+        if (extended == 0) {
+            entriesByHash.invalidate(entry.getTokenHash());
+            return 0;
+        }
+        index(entry.toBuilder().expiresAt(expiresAt).build());
+        return extended;
+    }
+
+    @Override
+    public int deleteByUserId(Long userId) {
+        int deleted = database.deleteByUserId(userId);
+        String tokenHash = hashesByUserId.remove(userId);
+        if (tokenHash != null) {
+            entriesByHash.invalidate(tokenHash);
+        }
+        return deleted;
+    }
+
+    @Override
+    public int deleteExpired(Instant threshold) {
+        entriesByHash.cleanUp();
+        return database.deleteExpired(threshold);
+    }
+
+    private void index(RefreshTokenEntry entry) {
+        String previous = hashesByUserId.put(entry.getUserId(), entry.getTokenHash());
+        if (previous != null && !previous.equals(entry.getTokenHash())) {
+            entriesByHash.invalidate(previous);
+        }
+        entriesByHash.put(entry.getTokenHash(), entry);
+    }
+}
@@ -0,0 +1,25 @@
+package com.springframework.bookdelivery.security.token;
+
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * A refresh token as seen by a {@link RefreshTokenStore}: the digest of the token string, the
+ * user it belongs to and its expiry time. The token string itself is never stored.
+ */
+@Getter
+@Builder(toBuilder = true)
+@EqualsAndHashCode
+public class RefreshTokenEntry {
+
+    private String tokenHash;
+
+    private Long userId;
+
+    private String email;
+
+    private Instant expiresAt;
+}
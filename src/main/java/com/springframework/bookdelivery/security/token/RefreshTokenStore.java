@@ -0,0 +1,55 @@
+package com.springframework.bookdelivery.security.token;
+
+import com.springframework.bookdelivery.entity.User;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Keeps the refresh tokens of the users, one per user, identified by the SHA-256 digest of the
+ * token string. The implementation is chosen by {@code security.refresh-token.store}.
+ */
+public interface RefreshTokenStore {
+
+    /**
+     * Stores the refresh token of a user, replacing the previous one.
+     *
+     * @param user      The user the token belongs to.
+     * @param tokenHash The digest of the token string.
+     * @param expiresAt The expiry time of the token.
+     */
+    void save(User user, String tokenHash, Instant expiresAt);
+
+    /**
+     * Finds a refresh token by the digest of its token string.
+     *
+     * @param tokenHash The digest of the token string.
+     * @return An {@link Optional} containing the token, or an empty {@link Optional} if not found.
+     */
+    Optional<RefreshTokenEntry> find(String tokenHash);
+
+    /**
+     * Moves the expiry time of a refresh token.
+     *
+     * @param entry     The refresh token.
+     * @param expiresAt The new expiry time.
+     * @return The number of extended refresh tokens, 0 if the token has been deleted in the meantime.
+     */
+    int extend(RefreshTokenEntry entry, Instant expiresAt);
+
+    /**
+     * Deletes the refresh token of a user.
+     *
+     * @param userId The unique identifier of the user.
+     * @return The number of refresh tokens deleted (typically 0 or 1).
+     */
+    int deleteByUserId(Long userId);
+
+    /**
+     * Deletes every refresh token that has expired before the given time.
+     *
+     * @param threshold The time before which expired tokens are deleted.
+     * @return The number of deleted refresh tokens.
+     */
+    int deleteExpired(Instant threshold);
+}
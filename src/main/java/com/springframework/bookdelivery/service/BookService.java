@@ -1,7 +1,9 @@
 package com.springframework.bookdelivery.service;
 
 import com.springframework.bookdelivery.dto.BookDTO;
+import com.springframework.bookdelivery.dto.BookSearchDTO;
 import com.springframework.bookdelivery.payload.request.book.BookCreateRequest;
+import com.springframework.bookdelivery.payload.request.book.BookSearchRequest;
 import com.springframework.bookdelivery.payload.request.book.BookUpdateRequest;
 import com.springframework.bookdelivery.payload.request.book.BookUpdateStockRequest;
 import com.springframework.bookdelivery.payload.request.pagination.PaginationRequest;
@@ -42,6 +44,14 @@ public interface BookService {
      */
     Page<BookDTO> getAllBooks(PaginationRequest paginationRequest);
 
+    /**
+     * Searches the books by name, author and ISBN, best match first.
+     *
+     * @param request The request containing the words to search for, the cursor and the page size.
+     * @return A {@link BookSearchDTO} holding the matching books and the cursor of the next page.
+     */
+    BookSearchDTO searchBooks(BookSearchRequest request);
+
     /**
      * Updates a book by its unique identifier.
      *
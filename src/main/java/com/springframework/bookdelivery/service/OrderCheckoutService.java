@@ -0,0 +1,26 @@
+package com.springframework.bookdelivery.service;
+
+import com.springframework.bookdelivery.dto.OrderDTO;
+import com.springframework.bookdelivery.payload.request.order.CreateOrderRequest;
+
+import java.util.function.Supplier;
+
+public interface OrderCheckoutService {
+
+    /**
+     * Places a new order, retrying the whole order transaction when it loses a lock conflict.
+     *
+     * @param createOrderRequest The request containing order information to be used for creation.
+     * @return An {@link OrderDTO} representing the newly created order.
+     */
+    OrderDTO checkout(CreateOrderRequest createOrderRequest);
+
+    /**
+     * Runs the given transaction, running it again when it loses a lock conflict.
+     *
+     * @param transaction The transaction to be run; it must start and end its own transaction.
+     * @param <T>         The type of the result of the transaction.
+     * @return The result of the transaction.
+     */
+    <T> T retryOnLockConflict(Supplier<T> transaction);
+}
@@ -0,0 +1,16 @@
+package com.springframework.bookdelivery.service;
+
+import com.springframework.bookdelivery.payload.request.order.CreateOrderRequest;
+import com.springframework.bookdelivery.payload.response.order.OrderCreatedResponse;
+
+public interface OrderIdempotencyService {
+
+    /**
+     * Places a new order at most once per idempotency key of the authenticated user.
+     *
+     * @param idempotencyKey     The value of the {@code Idempotency-Key} header sent by the client.
+     * @param createOrderRequest The request containing order information to be used for creation.
+     * @return The {@link OrderCreatedResponse} of the first successful request with this key.
+     */
+    OrderCreatedResponse createOrder(String idempotencyKey, CreateOrderRequest createOrderRequest);
+}
@@ -0,0 +1,23 @@
+package com.springframework.bookdelivery.service;
+
+import com.springframework.bookdelivery.dto.OrderIntakeDTO;
+import com.springframework.bookdelivery.payload.request.order.CreateOrderRequest;
+
+public interface OrderIntakeService {
+
+    /**
+     * Accepts an order for asynchronous placement and returns immediately.
+     *
+     * @param createOrderRequest The request containing order information to be used for creation.
+     * @return An {@link OrderIntakeDTO} describing the accepted order.
+     */
+    OrderIntakeDTO accept(CreateOrderRequest createOrderRequest);
+
+    /**
+     * Retrieves the current state of an order accepted by {@link #accept(CreateOrderRequest)}.
+     *
+     * @param ticketId The ticket id returned when the order was accepted.
+     * @return An {@link OrderIntakeDTO} describing the current state of the order.
+     */
+    OrderIntakeDTO findTicket(String ticketId);
+}
@@ -12,4 +12,15 @@ public interface OrderSaveService {
      * @return An {@link OrderDTO} representing the newly created order.
      */
     OrderDTO createOrder(CreateOrderRequest createOrderRequest);
+
+    /**
+     * Creates a new order for the user with the given email address.
+     * <p>Unlike {@link #createOrder(CreateOrderRequest)}, this method does not depend on the
+     * authenticated request, so it can be called from background workers.</p>
+     *
+     * @param email              The email address of the user placing the order.
+     * @param createOrderRequest The request containing order information to be used for creation.
+     * @return An {@link OrderDTO} representing the newly created order.
+     */
+    OrderDTO createOrder(String email, CreateOrderRequest createOrderRequest);
 }
@@ -1,9 +1,12 @@
 package com.springframework.bookdelivery.service;
 
 import com.springframework.bookdelivery.dto.OrderDTO;
+import com.springframework.bookdelivery.payload.request.pagination.CursorFindAllRequest;
+import com.springframework.bookdelivery.payload.request.pagination.CursorPaginationRequest;
 import com.springframework.bookdelivery.payload.request.pagination.PaginatedFindAllRequest;
 import com.springframework.bookdelivery.payload.request.pagination.PaginationRequest;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 public interface OrderService {
 
@@ -32,4 +35,21 @@ public interface OrderService {
      */
     Page<OrderDTO> findAllOrdersBetweenTwoDatesAndPagination(PaginatedFindAllRequest paginatedFindAllRequest);
 
+    /**
+     * Retrieves a slice of the orders of a customer, newest first, starting after the given cursor.
+     *
+     * @param customerId              The unique identifier of the customer.
+     * @param cursorPaginationRequest The request containing the cursor and the slice size.
+     * @return A {@link Slice} of {@link OrderDTO} objects representing the orders of the customer.
+     */
+    Slice<OrderDTO> findAllOrdersByCustomerId(Long customerId, CursorPaginationRequest cursorPaginationRequest);
+
+    /**
+     * Retrieves a slice of the orders within a specified date interval, oldest first, starting after the given cursor.
+     *
+     * @param cursorFindAllRequest The request containing the date interval, the cursor and the slice size.
+     * @return A {@link Slice} of {@link OrderDTO} objects representing the orders within the specified date interval.
+     */
+    Slice<OrderDTO> findAllOrdersBetweenTwoDates(CursorFindAllRequest cursorFindAllRequest);
+
 }
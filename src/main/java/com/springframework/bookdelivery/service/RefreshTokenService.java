@@ -1,7 +1,7 @@
 package com.springframework.bookdelivery.service;
 
-import com.springframework.bookdelivery.entity.RefreshToken;
 import com.springframework.bookdelivery.entity.User;
+import com.springframework.bookdelivery.security.token.RefreshTokenEntry;
 
 import java.util.Optional;
 
@@ -21,23 +21,23 @@ public interface RefreshTokenService {
      * @param token The refresh token to check for expiration.
      * @return {@code true} if the token has expired, {@code false} otherwise.
      */
-    boolean isRefreshExpired(RefreshToken token);
+    boolean isRefreshExpired(RefreshTokenEntry token);
 
     /**
-     * Retrieves the refresh token associated with a user by their unique identifier.
+     * Extends the lifetime of a refresh token that has just been used.
      *
-     * @param userId The unique identifier of the user.
-     * @return A {@link RefreshToken} representing the refresh token associated with the user.
+     * @param token The refresh token that has been used.
+     * @return {@code true} if the token has been extended, {@code false} if it is no longer stored.
      */
-    RefreshToken getByUser(Long userId);
+    boolean extendRefreshToken(RefreshTokenEntry token);
 
     /**
      * Finds a refresh token by its token string.
      *
      * @param token The token string to search for.
-     * @return An {@link Optional} containing the {@link RefreshToken} if found, or an empty {@link Optional} if not found.
+     * @return An {@link Optional} containing the {@link RefreshTokenEntry} if found, or an empty {@link Optional} if not found.
      */
-    Optional<RefreshToken> findByToken(String token);
+    Optional<RefreshTokenEntry> findByToken(String token);
 
     /**
      * Deletes a refresh token associated with a user by their unique identifier.
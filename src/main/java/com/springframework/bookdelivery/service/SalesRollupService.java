@@ -0,0 +1,19 @@
+package com.springframework.bookdelivery.service;
+
+import com.springframework.bookdelivery.dto.OrderDTO;
+
+public interface SalesRollupService {
+
+    /**
+     * Records a newly created order, to be added to the monthly sales of its customer and of all customers.
+     *
+     * @param customerId The ID of the customer who placed the order.
+     * @param orderDTO   The newly created order.
+     */
+    void record(Long customerId, OrderDTO orderDTO);
+
+    /**
+     * Recomputes the monthly sales rollup from all order items.
+     */
+    void rebuild();
+}
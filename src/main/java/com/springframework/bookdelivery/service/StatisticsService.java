@@ -2,7 +2,7 @@ package com.springframework.bookdelivery.service;
 
 import com.springframework.bookdelivery.dto.OrderReportDTO;
 import com.springframework.bookdelivery.payload.request.pagination.PaginationRequest;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 public interface StatisticsService {
 
@@ -11,15 +11,20 @@ public interface StatisticsService {
      *
      * @param customerId The unique identifier of the customer.
      * @param paginationRequest The request containing pagination information.
-     * @return A {@link Page} of {@link OrderReportDTO} objects representing order statistics for the customer.
+     * @return A {@link Slice} of {@link OrderReportDTO} objects representing order statistics for the customer.
      */
-    Page<OrderReportDTO> getOrderStatisticsByCustomerId(Long customerId, PaginationRequest paginationRequest);
+    Slice<OrderReportDTO> getOrderStatisticsByCustomerId(Long customerId, PaginationRequest paginationRequest);
 
     /**
      * Retrieves overall order statistics.
      *
      * @param paginationRequest The request containing pagination information.
-     * @return A {@link Page} of {@link OrderReportDTO} objects representing overall order statistics.
+     * @return A {@link Slice} of {@link OrderReportDTO} objects representing overall order statistics.
      */
-    Page<OrderReportDTO> getAllOrderStatistics(PaginationRequest paginationRequest);
+    Slice<OrderReportDTO> getAllOrderStatistics(PaginationRequest paginationRequest);
+
+    /**
+     * Recomputes the pre-aggregated monthly sales from all orders.
+     */
+    void rebuildOrderStatistics();
 }
@@ -0,0 +1,25 @@
+package com.springframework.bookdelivery.service;
+
+import com.springframework.bookdelivery.dto.OrderItemDTO;
+import com.springframework.bookdelivery.payload.request.order.OrderItemRequest;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface StockReservationService {
+
+    /**
+     * Reserves stock for every requested order item in a single batch.
+     *
+     * @param orderItemRequests The requests containing the book ids and amounts to be reserved.
+     * @return A list of {@link OrderItemDTO} objects, one per reserved book, ordered by book id.
+     */
+    List<OrderItemDTO> reserve(Collection<OrderItemRequest> orderItemRequests);
+
+    /**
+     * Locks the given books in ascending id order until the surrounding transaction ends.
+     *
+     * @param bookIds The unique identifiers of the books to be locked.
+     */
+    void lock(Collection<String> bookIds);
+}
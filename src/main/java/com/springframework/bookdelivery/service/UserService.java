@@ -31,4 +31,13 @@ public interface UserService {
      */
     Optional<User> findByEmail(String email);
 
+    /**
+     * Replaces the encoded password of a user.
+     *
+     * @param email           The email address of the user.
+     * @param encodedPassword The new encoded password.
+     * @return An {@link Optional} containing the updated {@link User}, or an empty {@link Optional} if not found.
+     */
+    Optional<User> updatePassword(String email, String encodedPassword);
+
 }
@@ -1,10 +1,9 @@
 package com.springframework.bookdelivery.service.impl;
 
-import com.springframework.bookdelivery.entity.RefreshToken;
 import com.springframework.bookdelivery.entity.User;
 import com.springframework.bookdelivery.exception.token.RefreshTokenNotFoundException;
+import com.springframework.bookdelivery.exception.token.TokenRevocationException;
 import com.springframework.bookdelivery.exception.user.EmailAlreadyExistsException;
-import com.springframework.bookdelivery.exception.user.UserNotFoundException;
 import com.springframework.bookdelivery.payload.request.auth.LoginRequest;
 import com.springframework.bookdelivery.payload.request.auth.SignupRequest;
 import com.springframework.bookdelivery.payload.request.auth.TokenRefreshRequest;
@@ -12,9 +11,13 @@ import com.springframework.bookdelivery.payload.response.auth.JWTResponse;
 import com.springframework.bookdelivery.payload.response.auth.TokenRefreshResponse;
 import com.springframework.bookdelivery.repository.UserRepository;
 import com.springframework.bookdelivery.security.CustomUserDetails;
+import com.springframework.bookdelivery.security.CustomUserDetailsService;
 import com.springframework.bookdelivery.security.jwt.JwtUtils;
+import com.springframework.bookdelivery.security.jwt.TokenDenyList;
+import com.springframework.bookdelivery.security.token.RefreshTokenEntry;
 import com.springframework.bookdelivery.service.AuthService;
 import com.springframework.bookdelivery.service.RefreshTokenService;
+import io.jsonwebtoken.Claims;
 import lombok.AllArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -23,6 +26,8 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.Optional;
+
 @Service
 @AllArgsConstructor
 public class AuthServiceImpl implements AuthService {
@@ -37,6 +42,10 @@ public class AuthServiceImpl implements AuthService {
 
     private final JwtUtils jwtUtils;
 
+    private final TokenDenyList tokenDenyList;
+
+    private final CustomUserDetailsService customUserDetailsService;
+
 
     /**
      * Registers a new user based on the provided signup request.
@@ -66,6 +75,8 @@ public class AuthServiceImpl implements AuthService {
 
     /**
      * Logs a user in using the provided login credentials.
+     * <p>The user loaded during authentication is reused for the JWT token and the refresh token,
+     * so a login costs one user lookup and one refresh token statement.</p>
      *
      * @param request The login request containing user login credentials.
      * @return A {@link JWTResponse} containing a JWT token and related information upon successful login.
@@ -80,7 +91,7 @@ public class AuthServiceImpl implements AuthService {
         SecurityContextHolder.getContext().setAuthentication(auth);
         String jwtToken = jwtUtils.generateJwtToken(auth);
 
-        User user = userRepository.findByEmail(request.getEmail()).orElseThrow(UserNotFoundException::new);
+        User user = ((CustomUserDetails) auth.getPrincipal()).getUser();
 
         return JWTResponse.builder()
                 .email(request.getEmail())
@@ -91,6 +102,9 @@ public class AuthServiceImpl implements AuthService {
 
     /**
      * Refreshes a user's authentication token.
+     * <p>Every successful refresh extends the lifetime of the refresh token. A token that has been
+     * deleted since it was looked up, e.g. by a logout on another node, is rejected. The user is taken
+     * from the user details cache.</p>
      *
      * @param request The token refresh request containing the old token.
      * @return A {@link TokenRefreshResponse} containing a new JWT token upon successful token refresh.
@@ -98,17 +112,22 @@ public class AuthServiceImpl implements AuthService {
     @Override
     public TokenRefreshResponse refreshToken(TokenRefreshRequest request) {
 
-        RefreshToken refreshToken = refreshTokenService.findByToken(request.getRefreshToken())
+        RefreshTokenEntry refreshToken = refreshTokenService.findByToken(request.getRefreshToken())
                 .orElseThrow(RefreshTokenNotFoundException::new);
 
 
         if (!refreshTokenService.isRefreshExpired(refreshToken)) {
-            CustomUserDetails customUserDetails = new CustomUserDetails(refreshToken.getUser());
+            if (!refreshTokenService.extendRefreshToken(refreshToken)) {
+                throw new RefreshTokenNotFoundException();
+            }
+
+            CustomUserDetails customUserDetails =
+                    (CustomUserDetails) customUserDetailsService.loadUserByUsername(refreshToken.getEmail());
             String newToken = jwtUtils.generateJwtToken(customUserDetails);
 
             return TokenRefreshResponse.builder()
                     .accessToken(newToken)
-                    .refreshToken(refreshToken.getToken())
+                    .refreshToken(request.getRefreshToken())
                     .build();
         }
 
@@ -117,19 +136,26 @@ public class AuthServiceImpl implements AuthService {
 
     /**
      * Logs a user out by invalidating their token.
+     * <p>The refresh token is deleted and the {@code jti} of the access token is put on the {@link TokenDenyList}
+     * until it expires. If the access token cannot be revoked, the logout fails instead of reporting success.</p>
      *
      * @param token The user's authentication token to be invalidated.
      * @return A string representing the result of the logout process.
+     * @throws TokenRevocationException If the access token could not be put on the {@link TokenDenyList}.
      */
     @Override
     public String logout(String token) {
 
         String authToken = jwtUtils.extractTokenFromHeader(token);
 
-        if (jwtUtils.validateJwtToken(authToken)) {
-            Long id = jwtUtils.getIdFromToken(authToken);
+        Optional<Claims> claims = authToken != null ? jwtUtils.verify(authToken) : Optional.empty();
+        if (claims.isPresent()) {
+            Long id = JwtUtils.getId(claims.get());
 
             refreshTokenService.deleteByUserId(id);
+            if (!tokenDenyList.deny(claims.get())) {
+                throw new TokenRevocationException(tokenDenyList.size());
+            }
 
             return "success";
         }
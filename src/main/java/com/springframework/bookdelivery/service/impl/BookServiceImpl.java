@@ -1,29 +1,98 @@
 package com.springframework.bookdelivery.service.impl;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.springframework.bookdelivery.dto.BookDTO;
+import com.springframework.bookdelivery.dto.BookSearchDTO;
 import com.springframework.bookdelivery.entity.Book;
+import com.springframework.bookdelivery.event.BookChangedEvent;
+import com.springframework.bookdelivery.event.BookStockChangedEvent;
 import com.springframework.bookdelivery.exception.book.BookNotFoundException;
 import com.springframework.bookdelivery.exception.book.NoAvailableStockException;
+import com.springframework.bookdelivery.inventory.InventoryLedger;
 import com.springframework.bookdelivery.mapper.BookMapper;
 import com.springframework.bookdelivery.payload.request.book.BookCreateRequest;
+import com.springframework.bookdelivery.payload.request.book.BookSearchRequest;
 import com.springframework.bookdelivery.payload.request.book.BookUpdateRequest;
 import com.springframework.bookdelivery.payload.request.book.BookUpdateStockRequest;
+import com.springframework.bookdelivery.payload.request.pagination.CursorPaginationRequest;
 import com.springframework.bookdelivery.payload.request.pagination.PaginationRequest;
 import com.springframework.bookdelivery.repository.BookRepository;
+import com.springframework.bookdelivery.search.BookSearchIndex;
 import com.springframework.bookdelivery.service.BookService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import jakarta.transaction.Transactional;
-import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
-@AllArgsConstructor
+@RequiredArgsConstructor
 public class BookServiceImpl implements BookService {
 
+    @Value("${book.cache.max-size}")
+    long cacheMaxSize;
+
+    @Value("${book.cache.catalog-ttl-ms}")
+    long catalogTtlMs;
+
+    @Value("${book.cache.stock-ttl-ms}")
+    long stockTtlMs;
+
     private final BookRepository bookRepository;
 
+    private final ObjectProvider<InventoryLedger> inventoryLedger;
+
+    private final BookSearchIndex bookSearchIndex;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    private final MeterRegistry meterRegistry;
+
+    private Cache<String, BookDTO> booksById;
+
+    private Cache<String, Integer> stocksById;
+
+    /**
+     * Creates the bounded book caches and registers their hit, miss, eviction and load duration
+     * metrics under the cache names {@code bookCatalog} and {@code bookStock}.
+     * <p>Both caches admit entries with Caffeine's W-TinyLFU policy, so the few hot books stay
+     * cached while books that are read once do not displace them.</p>
+     */
+    @PostConstruct
+    void createCaches() {
+        booksById = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(Duration.ofMillis(catalogTtlMs))
+                .recordStats()
+                .build();
+        stocksById = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(Duration.ofMillis(stockTtlMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, booksById, "bookCatalog");
+        CaffeineCacheMetrics.monitor(meterRegistry, stocksById, "bookStock");
+    }
+
     /**
      * Creates a new book based on the provided request.
+     * <p>A {@link BookChangedEvent} is published, which adds the book to the {@link BookSearchIndex}.</p>
      *
      * @param request The request containing book information.
      * @return A {@link BookDTO} representing the newly created book.
@@ -32,28 +101,45 @@ public class BookServiceImpl implements BookService {
 
         final Book bookEntityToBeSaved = BookMapper.mapForSaving(request);
 
-        return BookMapper.toDTO(bookRepository.save(bookEntityToBeSaved));
+        final BookDTO book = BookMapper.toDTO(bookRepository.save(bookEntityToBeSaved));
+        applicationEventPublisher.publishEvent(toChangedEvent(book));
+
+        return book;
     }
 
     /**
      * Retrieves a book by its unique identifier.
+     * <p>The catalog fields of the book are cached for {@code book.cache.catalog-ttl-ms} and its
+     * stock for the much shorter {@code book.cache.stock-ttl-ms}, so a cached book only costs a
+     * query to read its stock again. Both entries are dropped as soon as a change to the book or
+     * its stock commits. On a miss, the book is read straight into a {@link BookDTO}; no entity
+     * is loaded.</p>
      *
      * @param bookId The unique identifier of the book.
      * @return A {@link BookDTO} representing the requested book.
      */
-    @Transactional
     public BookDTO getBookById(final String bookId) {
 
-        Book book = bookRepository.findById(bookId)
-                .orElseThrow(
-                        () -> new BookNotFoundException(bookId)
-                );
+        final BookDTO book = booksById.get(bookId, this::loadBook);
+        if (book == null) {
+            throw new BookNotFoundException(bookId);
+        }
+
+        final Integer stock = stocksById.get(bookId, id -> bookRepository.findStockById(id).orElse(null));
+        if (stock == null) {
+            booksById.invalidate(bookId);
+            throw new BookNotFoundException(bookId);
+        }
 
-        return BookMapper.toDTO(book);
+        return withAvailableStock(book.toBuilder().stock(stock).build());
     }
 
     /**
      * Updates the stock quantity of a book by its unique identifier.
+     * <p>While the {@link InventoryLedger} is active, the new stock is handed to the ledger,
+     * which writes it behind to the database together with the reservations.</p>
+     * <p>A {@link BookStockChangedEvent} is published, which drops the cached stock of the book
+     * once the transaction has committed.</p>
      *
      * @param bookId The unique identifier of the book.
      * @param request The request containing the updated stock information.
@@ -63,7 +149,18 @@ public class BookServiceImpl implements BookService {
     @Transactional
     public BookDTO updateBookStockById(String bookId, BookUpdateStockRequest request) {
 
-        Book book = bookRepository.findById(bookId)
+        applicationEventPublisher.publishEvent(new BookStockChangedEvent(List.of(bookId)));
+
+        InventoryLedger ledger = inventoryLedger.getIfAvailable();
+        if (ledger != null) {
+            Book book = bookRepository.findById(bookId)
+                    .orElseThrow(() -> new BookNotFoundException(bookId));
+            ledger.adjustTo(bookId, request.getStock());
+
+            return withAvailableStock(BookMapper.toDTO(book));
+        }
+
+        Book book = bookRepository.findForUpdate(bookId)
                 .orElseThrow(() -> new BookNotFoundException(bookId));
         book.setStock(request.getStock());
 
@@ -72,6 +169,7 @@ public class BookServiceImpl implements BookService {
 
     /**
      * Retrieves a paginated list of all books based on the provided request.
+     * <p>The books are read straight into {@link BookDTO} objects; no entity is loaded.</p>
      *
      * @param paginationRequest The request containing pagination information.
      * @return A {@link Page} of {@link BookDTO} objects representing the list of books.
@@ -80,12 +178,46 @@ public class BookServiceImpl implements BookService {
     public Page<BookDTO> getAllBooks(PaginationRequest paginationRequest) {
 
         return bookRepository
-                .findAll(paginationRequest.toPageable())
-                .map(BookMapper::toDTO);
+                .findAllDTOs(paginationRequest.toPageable())
+                .map(this::withAvailableStock);
+    }
+
+    /**
+     * Searches the books by name, author and ISBN in the {@link BookSearchIndex}, best match first.
+     * <p>The index only returns the ids of the matching books; their current state is then read
+     * with one query, so the price and the stock are never stale.</p>
+     *
+     * @param request The request containing the words to search for, the cursor and the page size.
+     * @return A {@link BookSearchDTO} holding the matching books and the cursor of the next page.
+     */
+    @Override
+    public BookSearchDTO searchBooks(BookSearchRequest request) {
+
+        final CursorPaginationRequest cursorPaginationRequest = request.getCursorPaginationRequest();
+        final BookSearchIndex.Hits hits = bookSearchIndex.search(
+                request.getQuery(), cursorPaginationRequest.getCursor(), cursorPaginationRequest.getSize());
+
+        final Map<String, BookDTO> booksById = hits.getBookIds().isEmpty()
+                ? Map.of()
+                : bookRepository.findAllDTOsByIdIn(hits.getBookIds()).stream()
+                        .collect(Collectors.toMap(BookDTO::getId, Function.identity()));
+
+        final List<BookDTO> books = hits.getBookIds().stream()
+                .map(booksById::get)
+                .filter(Objects::nonNull)
+                .map(this::withAvailableStock)
+                .toList();
+
+        return BookSearchDTO.builder()
+                .books(new SliceImpl<>(books, cursorPaginationRequest.toPageable(), hits.isHasNext()))
+                .nextCursor(hits.getNextCursor())
+                .build();
     }
 
     /**
      * Updates a book by its unique identifier.
+     * <p>A {@link BookChangedEvent} is published, which updates the book in the {@link BookSearchIndex}
+     * once the transaction has committed.</p>
      *
      * @param bookId The unique identifier of the book.
      * @param request The request containing the updated book information.
@@ -95,12 +227,22 @@ public class BookServiceImpl implements BookService {
     @Transactional
     public BookDTO updateBookById(final String bookId, final BookUpdateRequest request) {
         final Book bookEntityToBeUpdate = bookRepository
-                .findById(bookId)
+                .findForUpdate(bookId)
                 .orElseThrow(() -> new BookNotFoundException(bookId));
 
+        final Integer storedStock = bookEntityToBeUpdate.getStock();
         BookMapper.mapForUpdating(bookEntityToBeUpdate, request);
 
-        return BookMapper.toDTO(bookRepository.save(bookEntityToBeUpdate));
+        InventoryLedger ledger = inventoryLedger.getIfAvailable();
+        if (ledger != null) {
+            bookEntityToBeUpdate.setStock(storedStock);
+            ledger.adjustTo(bookId, request.getStock());
+        }
+
+        final BookDTO book = BookMapper.toDTO(bookRepository.save(bookEntityToBeUpdate));
+        applicationEventPublisher.publishEvent(toChangedEvent(book));
+
+        return withAvailableStock(book);
     }
 
     /**
@@ -112,7 +254,9 @@ public class BookServiceImpl implements BookService {
      */
     @Override
     public boolean isStockAvailable(BookDTO bookDTO, int amount) {
-        if (bookDTO.getStock() < amount) {
+        InventoryLedger ledger = inventoryLedger.getIfAvailable();
+        int stock = ledger != null ? ledger.available(bookDTO.getId()) : bookDTO.getStock();
+        if (stock < amount) {
             throw new NoAvailableStockException(amount);
         } else {
             return true;
@@ -120,4 +264,63 @@ public class BookServiceImpl implements BookService {
 
     }
 
+    /**
+     * Drops the cached catalog fields and stock of a book once a change to the book has been committed.
+     *
+     * @param event The event describing the changed book.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        booksById.invalidate(event.getBookId());
+        stocksById.invalidate(event.getBookId());
+    }
+
+    /**
+     * Drops the cached stock of the books once a change to their stock has been committed.
+     *
+     * @param event The event describing the books whose stock has changed.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBookStockChanged(BookStockChangedEvent event) {
+        stocksById.invalidateAll(event.getBookIds());
+    }
+
+    /**
+     * Reads a book into a {@link BookDTO} for the catalog cache, caching the stock read with it.
+     *
+     * @param bookId The unique identifier of the book.
+     * @return The book, or {@code null} if it does not exist.
+     */
+    private BookDTO loadBook(String bookId) {
+        return bookRepository.findDTOById(bookId)
+                .map(book -> {
+                    stocksById.put(bookId, book.getStock());
+                    return book;
+                })
+                .orElse(null);
+    }
+
+    private static BookChangedEvent toChangedEvent(BookDTO book) {
+        return new BookChangedEvent(book.getId(), book.getIsbn(), book.getName(), book.getAuthorFullName());
+    }
+
+    /**
+     * Replaces the stock of the given book with the stock available in the {@link InventoryLedger},
+     * if the ledger is active and already tracks the book.
+     *
+     * @param bookDTO The {@link BookDTO} as read from the database.
+     * @return A {@link BookDTO} carrying the currently available stock.
+     */
+    private BookDTO withAvailableStock(BookDTO bookDTO) {
+        InventoryLedger ledger = inventoryLedger.getIfAvailable();
+        if (ledger == null) {
+            return bookDTO;
+        }
+        return ledger.peek(bookDTO.getId())
+                .stream()
+                .mapToObj(stock -> bookDTO.toBuilder().stock(stock).build())
+                .findFirst()
+                .orElse(bookDTO);
+    }
+
 }
@@ -0,0 +1,118 @@
+package com.springframework.bookdelivery.service.impl;
+
+import com.springframework.bookdelivery.dto.OrderDTO;
+import com.springframework.bookdelivery.exception.order.CheckoutContentionException;
+import com.springframework.bookdelivery.payload.request.order.CreateOrderRequest;
+import com.springframework.bookdelivery.service.OrderCheckoutService;
+import com.springframework.bookdelivery.service.OrderSaveService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.LockTimeoutException;
+import jakarta.persistence.PessimisticLockException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderCheckoutServiceImpl implements OrderCheckoutService {
+
+    @Value("${checkout.retry.max-attempts}")
+    int maxAttempts;
+
+    @Value("${checkout.retry.initial-backoff-ms}")
+    long initialBackoffMs;
+
+    @Value("${checkout.retry.max-backoff-ms}")
+    long maxBackoffMs;
+
+    private final OrderSaveService orderSaveService;
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Places a new order through {@link OrderSaveService#createOrder(CreateOrderRequest)}.
+     * <p>The book locks are always taken in ascending book id order by the stock reservation,
+     * so two checkouts over overlapping books wait for each other instead of deadlocking.
+     * If the database still rolls the transaction back because of a lock wait timeout or a
+     * deadlock, the whole order transaction is retried with an exponential, fully jittered
+     * backoff until {@code checkout.retry.max-attempts} is reached.</p>
+     * <p>Every retry increments the {@code checkout.retries} counter and every checkout that
+     * runs out of attempts increments the {@code checkout.aborts} counter.</p>
+     *
+     * @param createOrderRequest The request containing order information to be used for creation.
+     * @return An {@link OrderDTO} representing the newly created order.
+     * @throws CheckoutContentionException If the order still conflicts after the last attempt.
+     */
+    @Override
+    public OrderDTO checkout(CreateOrderRequest createOrderRequest) {
+        return retryOnLockConflict(() -> orderSaveService.createOrder(createOrderRequest));
+    }
+
+    /**
+     * Runs the given transaction and retries it with the same backoff as {@link #checkout(CreateOrderRequest)}
+     * when it is rolled back because of a lock wait timeout or a deadlock.
+     *
+     * @param transaction The transaction to be run; it must start and end its own transaction.
+     * @param <T>         The type of the result of the transaction.
+     * @return The result of the transaction.
+     * @throws CheckoutContentionException If the transaction still conflicts after the last attempt.
+     */
+    @Override
+    public <T> T retryOnLockConflict(Supplier<T> transaction) {
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transaction.get();
+            } catch (RuntimeException e) {
+                if (!isLockConflict(e)) {
+                    throw e;
+                }
+                if (attempt >= maxAttempts) {
+                    meterRegistry.counter("checkout.aborts").increment();
+                    log.warn("OrderCheckoutServiceImpl | retryOnLockConflict | giving up after {} attempts: {}", attempt, e.getMessage());
+                    throw new CheckoutContentionException(attempt);
+                }
+                meterRegistry.counter("checkout.retries").increment();
+                backOff(attempt);
+            }
+        }
+    }
+
+    /**
+     * Sleeps for a random duration between zero and the exponential backoff of the given attempt.
+     *
+     * @param attempt The number of the attempt that has just failed, starting with 1.
+     */
+    private void backOff(int attempt) {
+        long ceiling = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempt - 1, 20));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CheckoutContentionException(attempt);
+        }
+    }
+
+    /**
+     * Checks whether the given exception, or one of its causes, reports a lost lock conflict.
+     *
+     * @param throwable The exception thrown by the order transaction.
+     * @return {@code true} if the transaction failed on a lock wait timeout or a deadlock.
+     */
+    private boolean isLockConflict(Throwable throwable) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof PessimisticLockingFailureException
+                    || cause instanceof PessimisticLockException
+                    || cause instanceof LockTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,238 @@
+package com.springframework.bookdelivery.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.springframework.bookdelivery.dto.OrderDTO;
+import com.springframework.bookdelivery.entity.IdempotencyRecord;
+import com.springframework.bookdelivery.enums.IdempotencyStatus;
+import com.springframework.bookdelivery.exception.order.IdempotencyKeyInProgressException;
+import com.springframework.bookdelivery.exception.order.IdempotencyKeyReusedException;
+import com.springframework.bookdelivery.exception.order.IdempotencyRecordException;
+import com.springframework.bookdelivery.mapper.OrderMapper;
+import com.springframework.bookdelivery.payload.request.order.CreateOrderRequest;
+import com.springframework.bookdelivery.payload.request.order.OrderItemRequest;
+import com.springframework.bookdelivery.payload.response.order.OrderCreatedResponse;
+import com.springframework.bookdelivery.repository.IdempotencyRecordRepository;
+import com.springframework.bookdelivery.service.OrderCheckoutService;
+import com.springframework.bookdelivery.service.OrderIdempotencyService;
+import com.springframework.bookdelivery.service.OrderSaveService;
+import com.springframework.bookdelivery.util.Identity;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderIdempotencyServiceImpl implements OrderIdempotencyService {
+
+    @Value("${order.idempotency.cache-size}")
+    long cacheSize;
+
+    @Value("${order.idempotency.ttl-ms}")
+    long ttlMs;
+
+    private final OrderCheckoutService orderCheckoutService;
+
+    private final OrderSaveService orderSaveService;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+
+    private final PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper;
+
+    private final Identity identity;
+
+    private Cache<String, Recorded> responses;
+
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Creates the bounded in-memory cache in front of the IDEMPOTENCY_RECORDS table.
+     */
+    @PostConstruct
+    void createCache() {
+        responses = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .build();
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Places a new order at most once per idempotency key of the authenticated user.
+     * This method performs the following steps:
+     * 1. Returns the recorded response from the bounded in-memory cache, or from the IDEMPOTENCY_RECORDS
+     * table if the cache has evicted it, without touching the books or the stock.
+     * 2. Otherwise claims the key by inserting an {@link IdempotencyStatus#IN_PROGRESS} record together
+     * with the fingerprint of the request; the unique constraint on (USER_ID, IDEMPOTENCY_KEY) lets only
+     * one concurrent request win.
+     * 3. Places the order and records its response as {@link IdempotencyStatus#COMPLETED} in the same
+     * transaction, so a committed order never leaves its key behind in progress.
+     * If the order fails, the claim is removed so that the client can retry with the same key.
+     *
+     * @param idempotencyKey     The value of the {@code Idempotency-Key} header sent by the client.
+     * @param createOrderRequest The request containing order information to be used for creation.
+     * @return The {@link OrderCreatedResponse} of the first successful request with this key.
+     * @throws IdempotencyKeyInProgressException If a request with the same key is still being processed.
+     * @throws IdempotencyKeyReusedException     If the key has been sent before with a different request.
+     */
+    @Override
+    public OrderCreatedResponse createOrder(String idempotencyKey, CreateOrderRequest createOrderRequest) {
+
+        final Long userId = identity.getCustomUserDetails().getId();
+        final String cacheKey = userId + ":" + idempotencyKey;
+        final String fingerprint = fingerprint(createOrderRequest);
+
+        Recorded cached = responses.getIfPresent(cacheKey);
+        if (cached != null) {
+            if (!cached.fingerprint().equals(fingerprint)) {
+                throw new IdempotencyKeyReusedException(idempotencyKey);
+            }
+            return cached.response();
+        }
+
+        Optional<IdempotencyRecord> existing = idempotencyRecordRepository
+                .findByUserIdAndIdempotencyKey(userId, idempotencyKey);
+        if (existing.isPresent()) {
+            return replay(existing.get(), fingerprint, cacheKey);
+        }
+
+        final IdempotencyRecord claim;
+        try {
+            claim = idempotencyRecordRepository.saveAndFlush(IdempotencyRecord.builder()
+                    .userId(userId)
+                    .idempotencyKey(idempotencyKey)
+                    .requestFingerprint(fingerprint)
+                    .status(IdempotencyStatus.IN_PROGRESS)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            return idempotencyRecordRepository.findByUserIdAndIdempotencyKey(userId, idempotencyKey)
+                    .map(record -> replay(record, fingerprint, cacheKey))
+                    .orElseThrow(() -> new IdempotencyKeyInProgressException(idempotencyKey));
+        }
+
+        final OrderCreatedResponse response;
+        try {
+            response = orderCheckoutService.retryOnLockConflict(() -> transactionTemplate.execute(status -> {
+                OrderDTO orderDTO = orderSaveService.createOrder(createOrderRequest);
+                OrderCreatedResponse created = OrderMapper.toCreatedResponse(orderDTO);
+                claim.setStatus(IdempotencyStatus.COMPLETED);
+                claim.setResponse(write(created));
+                idempotencyRecordRepository.save(claim);
+                return created;
+            }));
+        } catch (RuntimeException e) {
+            idempotencyRecordRepository.delete(claim);
+            throw e;
+        }
+
+        responses.put(cacheKey, new Recorded(fingerprint, response));
+
+        return response;
+    }
+
+    /**
+     * Deletes the records of idempotency keys that are older than {@code order.idempotency.ttl-ms}.
+     */
+    @Scheduled(
+            initialDelayString = "${order.idempotency.sweep-interval-ms}",
+            fixedDelayString = "${order.idempotency.sweep-interval-ms}"
+    )
+    void deleteExpiredRecords() {
+        int deleted = idempotencyRecordRepository
+                .deleteAllCreatedBefore(LocalDateTime.now().minus(ttlMs, ChronoUnit.MILLIS));
+        if (deleted > 0) {
+            log.debug("OrderIdempotencyServiceImpl | deleteExpiredRecords | deleted {} records", deleted);
+        }
+    }
+
+    /**
+     * Returns the recorded response of a key that has been used before and caches it again.
+     *
+     * @param record      The record of the idempotency key.
+     * @param fingerprint The fingerprint of the request that is sent with the key again.
+     * @param cacheKey    The key of the record in the in-memory cache.
+     * @return The recorded {@link OrderCreatedResponse}.
+     * @throws IdempotencyKeyReusedException     If the key has been sent before with a different request.
+     * @throws IdempotencyKeyInProgressException If the first request with the key has not completed yet.
+     */
+    private OrderCreatedResponse replay(IdempotencyRecord record, String fingerprint, String cacheKey) {
+
+        if (!record.getRequestFingerprint().equals(fingerprint)) {
+            throw new IdempotencyKeyReusedException(record.getIdempotencyKey());
+        }
+
+        if (record.getStatus() != IdempotencyStatus.COMPLETED) {
+            throw new IdempotencyKeyInProgressException(record.getIdempotencyKey());
+        }
+
+        OrderCreatedResponse response = read(record.getResponse());
+        responses.put(cacheKey, new Recorded(fingerprint, response));
+        return response;
+    }
+
+    /**
+     * Computes the SHA-256 digest of the order items of a request, sorted by book, so that the same
+     * request gives the same fingerprint regardless of the order of its items.
+     *
+     * @param createOrderRequest The request containing order information to be used for creation.
+     * @return The hex encoded fingerprint of the request.
+     */
+    private static String fingerprint(CreateOrderRequest createOrderRequest) {
+        String canonical = createOrderRequest.getOrderDetailSet().stream()
+                .sorted(Comparator.comparing(OrderItemRequest::getBookId)
+                        .thenComparingInt(OrderItemRequest::getAmount))
+                .map(orderItemRequest -> orderItemRequest.getBookId() + ":" + orderItemRequest.getAmount())
+                .collect(Collectors.joining("\n"));
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(messageDigest.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String write(OrderCreatedResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IdempotencyRecordException(e.getMessage());
+        }
+    }
+
+    private OrderCreatedResponse read(String response) {
+        try {
+            return objectMapper.readValue(response, OrderCreatedResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IdempotencyRecordException(e.getMessage());
+        }
+    }
+
+    /**
+     * A recorded response together with the fingerprint of the request it answers.
+     */
+    private record Recorded(String fingerprint, OrderCreatedResponse response) {
+    }
+}
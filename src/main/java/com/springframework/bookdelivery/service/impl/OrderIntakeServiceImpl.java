@@ -0,0 +1,318 @@
+package com.springframework.bookdelivery.service.impl;
+
+import com.springframework.bookdelivery.dto.OrderDTO;
+import com.springframework.bookdelivery.dto.OrderIntakeDTO;
+import com.springframework.bookdelivery.enums.OrderIntakeStatus;
+import com.springframework.bookdelivery.enums.Role;
+import com.springframework.bookdelivery.exception.order.OrderIntakeFullException;
+import com.springframework.bookdelivery.exception.order.OrderIntakeTicketNotFoundException;
+import com.springframework.bookdelivery.payload.request.order.CreateOrderRequest;
+import com.springframework.bookdelivery.payload.request.order.OrderItemRequest;
+import com.springframework.bookdelivery.security.CustomUserDetails;
+import com.springframework.bookdelivery.service.OrderCheckoutService;
+import com.springframework.bookdelivery.service.OrderIntakeService;
+import com.springframework.bookdelivery.service.OrderSaveService;
+import com.springframework.bookdelivery.service.StockReservationService;
+import com.springframework.bookdelivery.util.Identity;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderIntakeServiceImpl implements OrderIntakeService {
+
+    private static final long POLL_TIMEOUT_MS = 200L;
+
+    @Value("${order.intake.queue-capacity}")
+    int queueCapacity;
+
+    @Value("${order.intake.workers}")
+    int workers;
+
+    @Value("${order.intake.batch-size}")
+    int batchSize;
+
+    @Value("${order.intake.ticket-ttl-ms}")
+    long ticketTtlMs;
+
+    private final OrderSaveService orderSaveService;
+
+    private final OrderCheckoutService orderCheckoutService;
+
+    private final StockReservationService stockReservationService;
+
+    private final PlatformTransactionManager transactionManager;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Identity identity;
+
+    private final EntityManager entityManager;
+
+    private final ConcurrentMap<String, OrderIntakeDTO> tickets = new ConcurrentHashMap<>();
+
+    private final List<Thread> workerThreads = new ArrayList<>();
+
+    private BlockingQueue<PendingOrder> queue;
+
+    private TransactionTemplate transactionTemplate;
+
+    private volatile boolean running;
+
+    /**
+     * Creates the bounded intake queue and starts the batch workers.
+     */
+    @PostConstruct
+    void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        meterRegistry.gauge("order.intake.queue.size", queue, Collection::size);
+
+        running = true;
+        for (int i = 0; i < workers; i++) {
+            Thread worker = new Thread(this::work, "order-intake-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workerThreads.add(worker);
+        }
+    }
+
+    /**
+     * Accepts an order for asynchronous placement and returns immediately.
+     * <p>The order is only put on a bounded in-process queue here; neither a database connection
+     * nor a book lock is taken on the request thread. If the queue is full the order is refused,
+     * so that a burst of checkouts degrades into fast {@code 503} responses instead of piling up.</p>
+     *
+     * @param createOrderRequest The request containing order information to be used for creation.
+     * @return An {@link OrderIntakeDTO} in state {@link OrderIntakeStatus#ACCEPTED}.
+     * @throws OrderIntakeFullException If the intake queue is full.
+     */
+    @Override
+    public OrderIntakeDTO accept(CreateOrderRequest createOrderRequest) {
+
+        final String email = identity.getCustomUserDetails().getEmail();
+        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        final OrderIntakeDTO ticket = OrderIntakeDTO.builder()
+                .ticketId(UUID.randomUUID().toString())
+                .email(email)
+                .status(OrderIntakeStatus.ACCEPTED)
+                .acceptedAt(LocalDateTime.now())
+                .build();
+
+        tickets.put(ticket.getTicketId(), ticket);
+        if (!running || !queue.offer(new PendingOrder(ticket.getTicketId(), email, authentication, createOrderRequest))) {
+            tickets.remove(ticket.getTicketId());
+            meterRegistry.counter("order.intake.refused").increment();
+            throw new OrderIntakeFullException(queueCapacity);
+        }
+
+        return ticket;
+    }
+
+    /**
+     * Retrieves the current state of an accepted order.
+     * <p>Customers only see their own orders; an order of someone else is reported as not found.</p>
+     *
+     * @param ticketId The ticket id returned when the order was accepted.
+     * @return An {@link OrderIntakeDTO} describing the current state of the order.
+     * @throws OrderIntakeTicketNotFoundException If the ticket does not exist, has expired, or belongs to another customer.
+     */
+    @Override
+    public OrderIntakeDTO findTicket(String ticketId) {
+
+        final OrderIntakeDTO ticket = tickets.get(ticketId);
+        final CustomUserDetails customUserDetails = identity.getCustomUserDetails();
+
+        if (ticket == null || (!ticket.getEmail().equals(customUserDetails.getEmail())
+                && customUserDetails.getUser().getRole() != Role.ROLE_ADMIN)) {
+            throw new OrderIntakeTicketNotFoundException(ticketId);
+        }
+
+        return ticket;
+    }
+
+    /**
+     * Removes the tickets of orders that have been confirmed or rejected longer than
+     * {@code order.intake.ticket-ttl-ms} ago.
+     */
+    @Scheduled(fixedDelayString = "${order.intake.ticket-ttl-ms}")
+    void evictExpiredTickets() {
+        final LocalDateTime threshold = LocalDateTime.now().minus(ticketTtlMs, ChronoUnit.MILLIS);
+        tickets.values().removeIf(ticket -> ticket.getCompletedAt() != null
+                && ticket.getCompletedAt().isBefore(threshold));
+    }
+
+    /**
+     * Stops accepting orders and waits for the workers to place the orders that are still queued.
+     */
+    @PreDestroy
+    void shutdown() {
+        running = false;
+        for (Thread worker : workerThreads) {
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * The loop of a batch worker: takes up to {@code order.intake.batch-size} queued orders at once
+     * and places them together. Once the service is shutting down, the worker keeps going until the
+     * queue is empty.
+     */
+    private void work() {
+        final List<PendingOrder> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingOrder first = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                place(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("OrderIntakeServiceImpl | work | unexpected failure: {}", e.getMessage(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Places a batch of orders in one transaction, so the whole batch costs a single connection
+     * checkout and a single commit.
+     * <p>The transaction first locks the books of all orders of the batch in ascending id order, so
+     * two batches over overlapping books wait for each other instead of deadlocking. A transaction
+     * that still loses a lock conflict is retried like a single checkout.</p>
+     * <p>If the batch transaction fails, e.g. because one of its orders asks for more stock than
+     * available, every order of the batch is placed again in a transaction of its own, so that only
+     * the failing orders are rejected. The tickets are only confirmed once the batch has committed,
+     * outside of this fallback, so a committed batch is never placed a second time.</p>
+     *
+     * @param batch The queued orders to be placed.
+     */
+    private void place(List<PendingOrder> batch) {
+        final List<OrderDTO> orderDTOs;
+        try {
+            orderDTOs = orderCheckoutService.retryOnLockConflict(() -> transactionTemplate.execute(status -> {
+                stockReservationService.lock(bookIdsOf(batch));
+                return batch.stream()
+                        .map(this::createOrder)
+                        .toList();
+            }));
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                reject(batch.get(0), e);
+                return;
+            }
+            log.debug("OrderIntakeServiceImpl | place | batch of {} failed, placing one by one: {}", batch.size(), e.getMessage());
+            batch.forEach(this::placeAlone);
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            confirm(batch.get(i), orderDTOs.get(i));
+        }
+        meterRegistry.counter("order.intake.batches").increment();
+    }
+
+    private void placeAlone(PendingOrder pendingOrder) {
+        final OrderDTO orderDTO;
+        try {
+            orderDTO = orderCheckoutService.retryOnLockConflict(() -> transactionTemplate.execute(status ->
+                    createOrder(pendingOrder)));
+        } catch (RuntimeException e) {
+            reject(pendingOrder, e);
+            return;
+        }
+        confirm(pendingOrder, orderDTO);
+    }
+
+    /**
+     * Creates a queued order on behalf of the user who placed it.
+     * <p>The worker thread takes over the security context of the request that accepted the order
+     * while the order is created and its changes are flushed, so that the order, its items and the
+     * updated books are audited with the customer's name, as they are for a synchronous checkout.</p>
+     *
+     * @param pendingOrder The queued order.
+     * @return An {@link OrderDTO} representing the newly created order.
+     */
+    private OrderDTO createOrder(PendingOrder pendingOrder) {
+        final SecurityContext previous = SecurityContextHolder.getContext();
+        final SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(pendingOrder.authentication());
+        SecurityContextHolder.setContext(context);
+        try {
+            OrderDTO orderDTO = orderSaveService.createOrder(pendingOrder.email(), pendingOrder.request());
+            entityManager.flush();
+            return orderDTO;
+        } finally {
+            SecurityContextHolder.setContext(previous);
+        }
+    }
+
+    private static Set<String> bookIdsOf(List<PendingOrder> batch) {
+        return batch.stream()
+                .flatMap(pendingOrder -> pendingOrder.request().getOrderDetailSet().stream())
+                .map(OrderItemRequest::getBookId)
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    private void confirm(PendingOrder pendingOrder, OrderDTO orderDTO) {
+        tickets.computeIfPresent(pendingOrder.ticketId(), (ticketId, ticket) -> ticket.toBuilder()
+                .status(OrderIntakeStatus.CONFIRMED)
+                .orderId(orderDTO.getId())
+                .completedAt(LocalDateTime.now())
+                .build());
+        meterRegistry.counter("order.intake.confirmed").increment();
+    }
+
+    private void reject(PendingOrder pendingOrder, RuntimeException cause) {
+        tickets.computeIfPresent(pendingOrder.ticketId(), (ticketId, ticket) -> ticket.toBuilder()
+                .status(OrderIntakeStatus.REJECTED)
+                .message(cause.getMessage())
+                .completedAt(LocalDateTime.now())
+                .build());
+        meterRegistry.counter("order.intake.rejected").increment();
+    }
+
+    private record PendingOrder(String ticketId, String email, Authentication authentication,
+                                CreateOrderRequest request) {
+    }
+}
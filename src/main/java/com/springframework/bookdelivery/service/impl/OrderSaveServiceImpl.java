@@ -10,8 +10,9 @@ import com.springframework.bookdelivery.mapper.OrderMapper;
 import com.springframework.bookdelivery.payload.request.order.CreateOrderRequest;
 import com.springframework.bookdelivery.repository.OrderRepository;
 import com.springframework.bookdelivery.security.CustomUserDetails;
-import com.springframework.bookdelivery.service.OrderItemService;
 import com.springframework.bookdelivery.service.OrderSaveService;
+import com.springframework.bookdelivery.service.SalesRollupService;
+import com.springframework.bookdelivery.service.StockReservationService;
 import com.springframework.bookdelivery.service.UserService;
 import com.springframework.bookdelivery.util.Identity;
 import jakarta.transaction.Transactional;
@@ -24,12 +25,14 @@ import java.util.List;
 @AllArgsConstructor
 public class OrderSaveServiceImpl implements OrderSaveService {
 
-    private final OrderItemService orderItemService;
+    private final StockReservationService stockReservationService;
 
     private final UserService userService;
 
     private final OrderRepository orderRepository;
 
+    private final SalesRollupService salesRollupService;
+
     private final Identity identity;
 
     /**
@@ -44,14 +47,27 @@ public class OrderSaveServiceImpl implements OrderSaveService {
 
         CustomUserDetails customUserDetails = identity.getCustomUserDetails();
 
-        User user = userService.findByEmail(customUserDetails.getEmail())
-                .orElseThrow(() -> new UserNotFoundException(customUserDetails.getId()));
+        return createOrder(customUserDetails.getEmail(), createOrderRequest);
 
-        List<OrderItemDTO> orderItemDTOs = createOrderRequest
-                .getOrderDetailSet()
-                .stream()
-                .map(orderItemService::createOrderItem)
-                .toList();
+    }
+
+    /**
+     * Creates a new order for the user with the given email address.
+     * <p>The sales of the order are recorded for the monthly sales rollup in the same transaction.</p>
+     *
+     * @param email              The email address of the user placing the order.
+     * @param createOrderRequest The request containing order information to be used for creation.
+     * @return An {@link OrderDTO} representing the newly created order.
+     */
+    @Transactional
+    @Override
+    public OrderDTO createOrder(String email, CreateOrderRequest createOrderRequest) {
+
+        User user = userService.findByEmail(email)
+                .orElseThrow(UserNotFoundException::new);
+
+        List<OrderItemDTO> orderItemDTOs = stockReservationService
+                .reserve(createOrderRequest.getOrderDetailSet());
 
         Order order = Order.builder()
                 .user(user)
@@ -59,7 +75,10 @@ public class OrderSaveServiceImpl implements OrderSaveService {
 
         order.setOrderItems(OrderItemMapper.toOrderItem(orderItemDTOs));
 
-        return OrderMapper.toOrderDTO(orderRepository.save(order));
+        OrderDTO orderDTO = OrderMapper.toOrderDTO(orderRepository.save(order));
+        salesRollupService.record(user.getId(), orderDTO);
+
+        return orderDTO;
 
     }
 
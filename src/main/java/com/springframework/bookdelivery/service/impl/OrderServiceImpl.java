@@ -1,27 +1,50 @@
 package com.springframework.bookdelivery.service.impl;
 
 import com.springframework.bookdelivery.dto.OrderDTO;
+import com.springframework.bookdelivery.dto.OrderItemDTO;
+import com.springframework.bookdelivery.dto.OrderItemRowDTO;
+import com.springframework.bookdelivery.dto.OrderRowDTO;
 import com.springframework.bookdelivery.enums.Role;
 import com.springframework.bookdelivery.exception.order.OrderNotFoundException;
+import com.springframework.bookdelivery.mapper.OrderItemMapper;
 import com.springframework.bookdelivery.mapper.OrderMapper;
+import com.springframework.bookdelivery.payload.request.pagination.CursorFindAllRequest;
+import com.springframework.bookdelivery.payload.request.pagination.CursorPaginationRequest;
 import com.springframework.bookdelivery.payload.request.pagination.DateIntervalRequest;
 import com.springframework.bookdelivery.payload.request.pagination.PaginatedFindAllRequest;
 import com.springframework.bookdelivery.payload.request.pagination.PaginationRequest;
+import com.springframework.bookdelivery.repository.OrderItemRepository;
 import com.springframework.bookdelivery.repository.OrderRepository;
 import com.springframework.bookdelivery.security.CustomUserDetails;
 import com.springframework.bookdelivery.service.OrderService;
 import com.springframework.bookdelivery.util.Identity;
+import com.springframework.bookdelivery.util.OrderCursor;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * The orders are read as {@link OrderRowDTO} rows and their items as {@link OrderItemRowDTO} rows,
+ * so no entity is loaded and nothing enters the persistence context. Every method runs in a
+ * read-only transaction, which turns off Hibernate's flush and the snapshots it keeps for dirty checking.
+ */
 @Service
 @AllArgsConstructor
 public class OrderServiceImpl implements OrderService {
 
     private final OrderRepository orderRepository;
 
+    private final OrderItemRepository orderItemRepository;
+
     private final Identity identity;
 
     /**
@@ -31,17 +54,18 @@ public class OrderServiceImpl implements OrderService {
      * @return An {@link OrderDTO} representing the order with the specified ID.
      */
     @Override
+    @Transactional(readOnly = true)
     public OrderDTO findOrderById(Long id) {
 
         CustomUserDetails userDetails = identity.getCustomUserDetails();
 
-        return orderRepository.findById(id)
+        return orderRepository.findRowById(id)
                 .map(order -> {
                     // Check access based on customUserDetails here
-                    if ((userDetails.getId().equals(order.getUser().getId()) &&
+                    if ((userDetails.getId().equals(order.getUserId()) &&
                             userDetails.getUser().getRole().equals(Role.ROLE_CUSTOMER))
                             || userDetails.getUser().getRole().equals(Role.ROLE_ADMIN)) {
-                        return OrderMapper.toOrderDTO(order);
+                        return toOrderDTOs(List.of(order)).get(0);
                     } else {
                         throw new AccessDeniedException("You cannot access this order by Id");
                     }
@@ -57,14 +81,16 @@ public class OrderServiceImpl implements OrderService {
      * @return A {@link Page} of {@link OrderDTO} objects representing the list of orders for the customer.
      */
     @Override
+    @Transactional(readOnly = true)
     public Page<OrderDTO> findAllOrdersByCustomerId(Long customerId, PaginationRequest paginationRequest) {
 
         final CustomUserDetails userDetails = identity.getCustomUserDetails();
         final Role userRole = userDetails.getUser().getRole();
         if ((userRole.equals(Role.ROLE_CUSTOMER) && userDetails.getId().equals(customerId))
                 || userRole.equals(Role.ROLE_ADMIN)) {
-            return orderRepository.findAllByUserId(customerId, paginationRequest.toPageable())
-                    .map(OrderMapper::toOrderDTO);
+            final Page<OrderRowDTO> orders = orderRepository
+                    .findAllRowsByUserId(customerId, paginationRequest.toPageable());
+            return new PageImpl<>(toOrderDTOs(orders.getContent()), orders.getPageable(), orders.getTotalElements());
         }
 
         throw new AccessDeniedException("You cannot access order statistics");
@@ -78,17 +104,109 @@ public class OrderServiceImpl implements OrderService {
      * @return A {@link Page} of {@link OrderDTO} objects representing the list of orders within the specified date interval.
      */
     @Override
+    @Transactional(readOnly = true)
     public Page<OrderDTO> findAllOrdersBetweenTwoDatesAndPagination(PaginatedFindAllRequest paginatedFindAllRequest) {
 
         DateIntervalRequest dateIntervalRequest = paginatedFindAllRequest.getDateIntervalRequest();
         PaginationRequest paginationRequest = paginatedFindAllRequest.getPaginationRequest();
 
-        return orderRepository.findAllByCreatedAtBetween(
-                        dateIntervalRequest.getStartDate(),
-                        dateIntervalRequest.getEndDate(),
-                        paginationRequest.toPageable())
-                .map(OrderMapper::toOrderDTO);
+        final Page<OrderRowDTO> orders = orderRepository.findAllRowsByCreatedAtBetween(
+                dateIntervalRequest.getStartDate(),
+                dateIntervalRequest.getEndDate(),
+                paginationRequest.toPageable());
+        return new PageImpl<>(toOrderDTOs(orders.getContent()), orders.getPageable(), orders.getTotalElements());
+
+    }
+
+    /**
+     * Retrieves a slice of the orders of a customer, newest first, starting after the given cursor.
+     * <p>The slice is found with an index seek on {@code (userId, createdAt, id)} and no count
+     * query runs, so every slice costs the same, however deep the listing goes.</p>
+     *
+     * @param customerId              The unique identifier of the customer.
+     * @param cursorPaginationRequest The request containing the cursor and the slice size.
+     * @return A {@link Slice} of {@link OrderDTO} objects representing the orders of the customer.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<OrderDTO> findAllOrdersByCustomerId(Long customerId, CursorPaginationRequest cursorPaginationRequest) {
+
+        final CustomUserDetails userDetails = identity.getCustomUserDetails();
+        final Role userRole = userDetails.getUser().getRole();
+        if ((userRole.equals(Role.ROLE_CUSTOMER) && userDetails.getId().equals(customerId))
+                || userRole.equals(Role.ROLE_ADMIN)) {
+
+            final String cursor = cursorPaginationRequest.getCursor();
+            final Slice<OrderRowDTO> orders;
+            if (cursor == null || cursor.isBlank()) {
+                orders = orderRepository.findFirstRowSliceByUserId(customerId, cursorPaginationRequest.toPageable());
+            } else {
+                final OrderCursor position = OrderCursor.decode(cursor);
+                orders = orderRepository.findRowSliceByUserIdAfter(customerId,
+                        position.getCreatedAt(), position.getId(), cursorPaginationRequest.toPageable());
+            }
+            return new SliceImpl<>(toOrderDTOs(orders.getContent()), orders.getPageable(), orders.hasNext());
+        }
+
+        throw new AccessDeniedException("You cannot access order statistics");
+    }
+
+    /**
+     * Retrieves a slice of the orders within a specified date interval, oldest first, starting after the given cursor.
+     * <p>The slice is found with an index seek on {@code (createdAt, id)} and no count query runs,
+     * so walking months of orders costs the same for every slice.</p>
+     *
+     * @param cursorFindAllRequest The request containing the date interval, the cursor and the slice size.
+     * @return A {@link Slice} of {@link OrderDTO} objects representing the orders within the specified date interval.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<OrderDTO> findAllOrdersBetweenTwoDates(CursorFindAllRequest cursorFindAllRequest) {
+
+        final DateIntervalRequest dateIntervalRequest = cursorFindAllRequest.getDateIntervalRequest();
+        final CursorPaginationRequest cursorPaginationRequest = cursorFindAllRequest.getCursorPaginationRequest();
+
+        final String cursor = cursorPaginationRequest.getCursor();
+        final Slice<OrderRowDTO> orders;
+        if (cursor == null || cursor.isBlank()) {
+            orders = orderRepository.findFirstRowSliceByCreatedAtBetween(
+                    dateIntervalRequest.getStartDate(),
+                    dateIntervalRequest.getEndDate(),
+                    cursorPaginationRequest.toPageable());
+        } else {
+            final OrderCursor position = OrderCursor.decode(cursor);
+            orders = orderRepository.findRowSliceByCreatedAtBetweenAfter(
+                    dateIntervalRequest.getStartDate(),
+                    dateIntervalRequest.getEndDate(),
+                    position.getCreatedAt(),
+                    position.getId(),
+                    cursorPaginationRequest.toPageable());
+        }
+        return new SliceImpl<>(toOrderDTOs(orders.getContent()), orders.getPageable(), orders.hasNext());
+    }
+
+    /**
+     * Reads the items of all given orders with one query and attaches them to their orders.
+     *
+     * @param orders The orders, as read from the database.
+     * @return A list of {@link OrderDTO} objects in the order of the given rows.
+     */
+    private List<OrderDTO> toOrderDTOs(List<OrderRowDTO> orders) {
+
+        if (orders.isEmpty()) {
+            return List.of();
+        }
+
+        final Map<Long, List<OrderItemDTO>> itemsByOrderId = orderItemRepository
+                .findAllRowsByOrderIdIn(orders.stream().map(OrderRowDTO::getId).toList())
+                .stream()
+                .collect(Collectors.groupingBy(
+                        OrderItemRowDTO::getOrderId,
+                        Collectors.mapping(OrderItemMapper::toDTO, Collectors.toList())));
 
+        return orders.stream()
+                .map(order -> OrderMapper.toOrderDTO(order, itemsByOrderId.getOrDefault(order.getId(), List.of())))
+                .toList();
     }
 
 }
@@ -1,36 +1,37 @@
 package com.springframework.bookdelivery.service.impl;
 
-import com.springframework.bookdelivery.entity.RefreshToken;
 import com.springframework.bookdelivery.entity.User;
-import com.springframework.bookdelivery.exception.user.UserNotFoundException;
-import com.springframework.bookdelivery.repository.RefreshTokenRepository;
+import com.springframework.bookdelivery.security.token.RefreshTokenEntry;
+import com.springframework.bookdelivery.security.token.RefreshTokenStore;
 import com.springframework.bookdelivery.service.RefreshTokenService;
-import com.springframework.bookdelivery.service.UserService;
-import jakarta.transaction.Transactional;
-import lombok.AllArgsConstructor;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
-import java.time.LocalDate;
-import java.time.ZoneOffset;
+import java.util.HexFormat;
 import java.util.Optional;
 import java.util.UUID;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class RefreshTokenServiceImpl implements RefreshTokenService {
 
     @Value("${jwt.refrEshexpireMs}")
-    Long expireSeconds;
+    Long expireMs;
 
-    private final RefreshTokenRepository refreshTokenRepository;
-
-    private final UserService userService;
+    private final RefreshTokenStore refreshTokenStore;
 
     /**
      * Creates a new refresh token for the specified user.
+     * <p>Only the SHA-256 digest of the token is stored, so a leaked REFRESH_TOKENS table
+     * cannot be used to refresh access tokens.</p>
      *
      * @param user The user for whom the refresh token is created.
      * @return A string representing the newly created refresh token.
@@ -38,18 +39,10 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
     @Override
     public String createRefreshToken(User user) {
 
-        RefreshToken token = getByUser(user.getId());
-
-        if (token == null) {
-            token = new RefreshToken();
-            token.setUser(user);
-        }
-
-        token.setToken(UUID.randomUUID().toString());
-        token.setExpiryDate(Instant.now().plusSeconds(expireSeconds).atZone(ZoneOffset.UTC).toLocalDate());
-        refreshTokenRepository.save(token);
+        final String token = UUID.randomUUID().toString();
+        refreshTokenStore.save(user, digest(token), Instant.now().plusMillis(expireMs));
 
-        return token.getToken();
+        return token;
     }
 
     /**
@@ -59,30 +52,31 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
      * @return {@code true} if the token has expired, {@code false} otherwise.
      */
     @Override
-    public boolean isRefreshExpired(RefreshToken token) {
-        return token.getExpiryDate().isBefore(LocalDate.now());
+    public boolean isRefreshExpired(RefreshTokenEntry token) {
+        return token.getExpiresAt().isBefore(Instant.now());
     }
 
     /**
-     * Retrieves the refresh token associated with a user by their unique identifier.
+     * Extends the lifetime of a refresh token that has just been used, so a token that is
+     * used regularly does not expire.
      *
-     * @param userId The unique identifier of the user.
-     * @return A {@link RefreshToken} representing the refresh token associated with the user.
+     * @param token The refresh token that has been used.
+     * @return {@code true} if the token has been extended, {@code false} if it is no longer stored.
      */
     @Override
-    public RefreshToken getByUser(Long userId) {
-        return refreshTokenRepository.findByUserId(userId);
+    public boolean extendRefreshToken(RefreshTokenEntry token) {
+        return refreshTokenStore.extend(token, Instant.now().plusMillis(expireMs)) > 0;
     }
 
     /**
      * Finds a refresh token by its token string.
      *
      * @param token The token string to search for.
-     * @return An {@link Optional} containing the {@link RefreshToken} if found, or an empty {@link Optional} if not found.
+     * @return An {@link Optional} containing the {@link RefreshTokenEntry} if found, or an empty {@link Optional} if not found.
      */
     @Override
-    public Optional<RefreshToken> findByToken(String token) {
-        return refreshTokenRepository.findByToken(token);
+    public Optional<RefreshTokenEntry> findByToken(String token) {
+        return refreshTokenStore.find(digest(token));
     }
 
     /**
@@ -92,10 +86,31 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
      * @return The number of refresh tokens deleted (typically 0 or 1).
      */
     @Override
-    @Transactional
     public int deleteByUserId(Long userId) {
+        return refreshTokenStore.deleteByUserId(userId);
+    }
 
-        User user = userService.findById(userId).orElseThrow(() -> new UserNotFoundException(userId));
-        return refreshTokenRepository.deleteByUser(user);
+    /**
+     * Deletes the refresh tokens that have expired, so the REFRESH_TOKENS table does not grow
+     * with users that never come back.
+     */
+    @Scheduled(
+            initialDelayString = "${security.refresh-token.sweep-interval-ms}",
+            fixedDelayString = "${security.refresh-token.sweep-interval-ms}"
+    )
+    void deleteExpiredTokens() {
+        int deleted = refreshTokenStore.deleteExpired(Instant.now());
+        if (deleted > 0) {
+            log.debug("RefreshTokenServiceImpl | deleteExpiredTokens | deleted {} refresh tokens", deleted);
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(messageDigest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 }
@@ -0,0 +1,191 @@
+package com.springframework.bookdelivery.service.impl;
+
+import com.springframework.bookdelivery.dto.MonthlySalesDTO;
+import com.springframework.bookdelivery.dto.OrderDTO;
+import com.springframework.bookdelivery.dto.OrderItemDTO;
+import com.springframework.bookdelivery.entity.MonthlySalesRollup;
+import com.springframework.bookdelivery.entity.SalesRollupChange;
+import com.springframework.bookdelivery.repository.MonthlySalesRollupRepository;
+import com.springframework.bookdelivery.repository.OrderItemRepository;
+import com.springframework.bookdelivery.repository.SalesRollupChangeRepository;
+import com.springframework.bookdelivery.service.SalesRollupService;
+import jakarta.annotation.PostConstruct;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SalesRollupServiceImpl implements SalesRollupService {
+
+    @Value("${statistics.rollup.batch-size}")
+    int batchSize;
+
+    private final MonthlySalesRollupRepository monthlySalesRollupRepository;
+
+    private final SalesRollupChangeRepository salesRollupChangeRepository;
+
+    private final OrderItemRepository orderItemRepository;
+
+    private final PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Records the sales of a newly created order in the SALES_ROLLUP_CHANGES table.
+     * <p>This method must run inside the transaction that creates the order, so the change commits
+     * or rolls back together with it. It only inserts one row and locks no rollup row, so checkouts
+     * of different customers never wait for each other here. The change is added to the monthly
+     * sales of the customer and of all customers by {@link #consumeChanges()}.</p>
+     *
+     * @param customerId The ID of the customer who placed the order.
+     * @param orderDTO   The newly created order.
+     */
+    @Override
+    public void record(Long customerId, OrderDTO orderDTO) {
+
+        final LocalDateTime createdAt = Objects.requireNonNullElseGet(orderDTO.getCreatedAt(), LocalDateTime::now);
+
+        final long bookCount = orderDTO.getOrderItems().stream()
+                .map(OrderItemDTO::getQuantity)
+                .filter(Objects::nonNull)
+                .mapToLong(Integer::longValue)
+                .sum();
+        final BigDecimal totalPrice = orderDTO.getOrderItems().stream()
+                .map(OrderItemDTO::getLineTotal)
+                .filter(Objects::nonNull)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        salesRollupChangeRepository.save(SalesRollupChange.builder()
+                .customerId(customerId)
+                .salesYear(createdAt.getYear())
+                .salesMonth(createdAt.getMonthValue())
+                .bookCount(bookCount)
+                .totalPrice(totalPrice)
+                .build());
+    }
+
+    /**
+     * Adds the recorded changes to the monthly sales rollup, {@code statistics.rollup.batch-size}
+     * changes per transaction, until no change is left.
+     * <p>Each batch locks its changes, sums them up per customer and month and per month for all
+     * customers, increments or inserts one rollup row per sum and deletes the changes. The shared
+     * all-customers rows are therefore written once per batch by a single consumer instead of once
+     * per order by every checkout, and missing rows are created here, outside of any order transaction.</p>
+     */
+    @Scheduled(fixedDelayString = "${statistics.rollup.consume-interval-ms}")
+    public void consumeChanges() {
+        try {
+            while (Boolean.TRUE.equals(transactionTemplate.execute(status -> consumeBatch()))) {
+                log.trace("SalesRollupServiceImpl | consumeChanges | consumed a full batch, continuing");
+            }
+        } catch (RuntimeException e) {
+            log.warn("SalesRollupServiceImpl | consumeChanges | could not consume changes, retrying later: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Recomputes the monthly sales rollup from all order items in one transaction.
+     * <p>This scans every order item. It is meant to backfill the rollup once and to repair it;
+     * orders placed while it runs may be missed and are picked up by the next rebuild.</p>
+     */
+    @Override
+    @Transactional
+    public void rebuild() {
+
+        salesRollupChangeRepository.deleteAllRows();
+        final List<MonthlySalesDTO> monthlySales = orderItemRepository.aggregateMonthlySales();
+
+        final Map<String, MonthlySalesRollup> rows = new TreeMap<>();
+        for (MonthlySalesDTO sales : monthlySales) {
+            long bookCount = Objects.requireNonNullElse(sales.getBookCount(), 0L);
+            BigDecimal totalPrice = Objects.requireNonNullElse(sales.getTotalPrice(), BigDecimal.ZERO);
+            for (Long customerId : List.of(MonthlySalesRollup.ALL_CUSTOMERS, sales.getCustomerId())) {
+                merge(rows, row(customerId, sales.getYear(), sales.getMonth(), sales.getOrderCount(), bookCount, totalPrice));
+            }
+        }
+
+        monthlySalesRollupRepository.deleteAllRows();
+        monthlySalesRollupRepository.saveAll(rows.values());
+
+        log.info("SalesRollupServiceImpl | rebuild | rebuilt {} rollup rows", rows.size());
+    }
+
+    /**
+     * Adds the oldest batch of changes to the rollup and deletes them.
+     *
+     * @return {@code true} if the batch was full, so more changes may be waiting.
+     */
+    private boolean consumeBatch() {
+
+        final List<SalesRollupChange> changes = salesRollupChangeRepository
+                .findOldestForUpdate(PageRequest.of(0, batchSize));
+        if (changes.isEmpty()) {
+            return false;
+        }
+
+        final Map<String, MonthlySalesRollup> sums = new TreeMap<>();
+        for (SalesRollupChange change : changes) {
+            for (Long customerId : List.of(MonthlySalesRollup.ALL_CUSTOMERS, change.getCustomerId())) {
+                merge(sums, row(customerId, change.getSalesYear(), change.getSalesMonth(),
+                        1L, change.getBookCount(), change.getTotalPrice()));
+            }
+        }
+
+        for (MonthlySalesRollup sum : sums.values()) {
+            int updated = monthlySalesRollupRepository.increment(sum.getCustomerId(), sum.getSalesYear(),
+                    sum.getSalesMonth(), sum.getOrderCount(), sum.getBookCount(), sum.getTotalPrice());
+            if (updated == 0) {
+                monthlySalesRollupRepository.save(sum);
+            }
+        }
+        salesRollupChangeRepository.deleteAllInBatch(changes);
+
+        return changes.size() == batchSize;
+    }
+
+    private static void merge(Map<String, MonthlySalesRollup> rows, MonthlySalesRollup added) {
+        rows.merge(key(added.getCustomerId(), added.getSalesYear(), added.getSalesMonth()), added,
+                (current, next) -> {
+                    current.setOrderCount(current.getOrderCount() + next.getOrderCount());
+                    current.setBookCount(current.getBookCount() + next.getBookCount());
+                    current.setTotalPrice(current.getTotalPrice().add(next.getTotalPrice()));
+                    return current;
+                });
+    }
+
+    private static MonthlySalesRollup row(Long customerId, int year, int month,
+                                          long orderCount, long bookCount, BigDecimal totalPrice) {
+        return MonthlySalesRollup.builder()
+                .customerId(customerId)
+                .salesYear(year)
+                .salesMonth(month)
+                .orderCount(orderCount)
+                .bookCount(bookCount)
+                .totalPrice(totalPrice)
+                .build();
+    }
+
+    private static String key(Long customerId, int year, int month) {
+        return customerId + ":" + year + ":" + month;
+    }
+}
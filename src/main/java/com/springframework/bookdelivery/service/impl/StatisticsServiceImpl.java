@@ -1,14 +1,17 @@
 package com.springframework.bookdelivery.service.impl;
 
 import com.springframework.bookdelivery.dto.OrderReportDTO;
+import com.springframework.bookdelivery.entity.MonthlySalesRollup;
 import com.springframework.bookdelivery.enums.Role;
 import com.springframework.bookdelivery.payload.request.pagination.PaginationRequest;
-import com.springframework.bookdelivery.repository.OrderRepository;
+import com.springframework.bookdelivery.mapper.OrderReportMapper;
+import com.springframework.bookdelivery.repository.MonthlySalesRollupRepository;
 import com.springframework.bookdelivery.security.CustomUserDetails;
+import com.springframework.bookdelivery.service.SalesRollupService;
 import com.springframework.bookdelivery.service.StatisticsService;
 import com.springframework.bookdelivery.util.Identity;
 import lombok.AllArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 
@@ -17,38 +20,54 @@ import org.springframework.stereotype.Service;
 public class StatisticsServiceImpl implements StatisticsService {
 
 
-    private final OrderRepository orderRepository;
+    private final MonthlySalesRollupRepository monthlySalesRollupRepository;
+
+    private final SalesRollupService salesRollupService;
 
     private final Identity identity;
 
     /**
      * Retrieves order statistics for a specific customer.
+     * <p>The statistics are read from the pre-aggregated MONTHLY_SALES_ROLLUP table, one row per month.</p>
      *
      * @param customerId        The unique identifier of the customer.
      * @param paginationRequest The request containing pagination information.
-     * @return A {@link Page} of {@link OrderReportDTO} objects representing order statistics for the customer.
+     * @return A {@link Slice} of {@link OrderReportDTO} objects representing order statistics for the customer.
      */
     @Override
-    public Page<OrderReportDTO> getOrderStatisticsByCustomerId(Long customerId, PaginationRequest paginationRequest) {
+    public Slice<OrderReportDTO> getOrderStatisticsByCustomerId(Long customerId, PaginationRequest paginationRequest) {
 
         final CustomUserDetails userDetails = identity.getCustomUserDetails();
         final Role userRole = userDetails.getUser().getRole();
         if ((userRole.equals(Role.ROLE_CUSTOMER) && userDetails.getId().equals(customerId))
                 || userRole.equals(Role.ROLE_ADMIN)) {
-            return orderRepository.findOrderStatisticsByCustomerId(customerId, paginationRequest.toPageable());
+            return monthlySalesRollupRepository
+                    .findAllByCustomerId(customerId, paginationRequest.toPageable())
+                    .map(OrderReportMapper::toOrderReportDTO);
         }
         throw new AccessDeniedException("You cannot access order statistics");
     }
 
     /**
      * Retrieves overall order statistics.
+     * <p>The statistics are read from the all-customers rows of the MONTHLY_SALES_ROLLUP table.</p>
      *
      * @param paginationRequest The request containing pagination information.
-     * @return A {@link Page} of {@link OrderReportDTO} objects representing overall order statistics.
+     * @return A {@link Slice} of {@link OrderReportDTO} objects representing overall order statistics.
+     */
+    @Override
+    public Slice<OrderReportDTO> getAllOrderStatistics(PaginationRequest paginationRequest) {
+        return monthlySalesRollupRepository
+                .findAllByCustomerId(MonthlySalesRollup.ALL_CUSTOMERS, paginationRequest.toPageable())
+                .map(OrderReportMapper::toOrderReportDTO);
+    }
+
+    /**
+     * Recomputes the pre-aggregated monthly sales from all orders.
      */
     @Override
-    public Page<OrderReportDTO> getAllOrderStatistics(PaginationRequest paginationRequest) {
-        return orderRepository.findAllOrderStatistics(paginationRequest.toPageable());
+    public void rebuildOrderStatistics() {
+        salesRollupService.rebuild();
     }
 
 }
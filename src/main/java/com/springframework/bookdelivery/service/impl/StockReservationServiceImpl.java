@@ -0,0 +1,209 @@
+package com.springframework.bookdelivery.service.impl;
+
+import com.springframework.bookdelivery.dto.OrderItemDTO;
+import com.springframework.bookdelivery.entity.Book;
+import com.springframework.bookdelivery.entity.OrderItem;
+import com.springframework.bookdelivery.enums.InventoryMode;
+import com.springframework.bookdelivery.event.BookStockChangedEvent;
+import com.springframework.bookdelivery.exception.book.BookNotFoundException;
+import com.springframework.bookdelivery.exception.book.NoAvailableStockException;
+import com.springframework.bookdelivery.inventory.InventoryLedger;
+import com.springframework.bookdelivery.mapper.OrderItemMapper;
+import com.springframework.bookdelivery.payload.request.order.OrderItemRequest;
+import com.springframework.bookdelivery.repository.BookRepository;
+import com.springframework.bookdelivery.service.StockReservationService;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class StockReservationServiceImpl implements StockReservationService {
+
+    @Value("${inventory.mode}")
+    InventoryMode inventoryMode;
+
+    private final BookRepository bookRepository;
+
+    private final ObjectProvider<InventoryLedger> inventoryLedger;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    /**
+     * Reserves stock for every requested order item in a single batch.
+     * <p>The requested amounts are first merged per book id and sorted by book id, so that
+     * every checkout touches the book rows in the same order. The stock is then taken
+     * according to the configured {@code inventory.mode}:</p>
+     * <p>- {@link InventoryMode#PESSIMISTIC}: see {@link #reserveWithLocks(SortedMap)}</p>
+     * <p>- {@link InventoryMode#CONDITIONAL}: see {@link #reserveWithConditionalUpdates(SortedMap)}</p>
+     * <p>- {@link InventoryMode#LEDGER}: see {@link #reserveFromLedger(SortedMap)}</p>
+     * <p>A {@link BookStockChangedEvent} is published for the reserved books, which drops their
+     * cached stock once the transaction has committed.</p>
+     *
+     * @param orderItemRequests The requests containing the book ids and amounts to be reserved.
+     * @return A list of {@link OrderItemDTO} objects, one per reserved book, ordered by book id.
+     * @throws BookNotFoundException     If one of the requested books does not exist.
+     * @throws NoAvailableStockException If one of the requested books does not have enough stock.
+     */
+    @Override
+    @Transactional
+    public List<OrderItemDTO> reserve(Collection<OrderItemRequest> orderItemRequests) {
+
+        final SortedMap<String, Integer> amountsByBookId = orderItemRequests.stream()
+                .collect(Collectors.toMap(
+                        OrderItemRequest::getBookId,
+                        OrderItemRequest::getAmount,
+                        Integer::sum,
+                        TreeMap::new));
+
+        final List<OrderItemDTO> orderItems = switch (inventoryMode) {
+            case PESSIMISTIC -> reserveWithLocks(amountsByBookId);
+            case CONDITIONAL -> reserveWithConditionalUpdates(amountsByBookId);
+            case LEDGER -> reserveFromLedger(amountsByBookId);
+        };
+        applicationEventPublisher.publishEvent(new BookStockChangedEvent(amountsByBookId.keySet()));
+
+        return orderItems;
+    }
+
+    /**
+     * Locks the given books in ascending id order until the surrounding transaction ends.
+     * <p>A transaction that reserves stock for several orders calls this first with the book ids of
+     * all its orders. Every book lock of the transaction is then taken up front in one consistent order,
+     * while the reservations of the single orders only lock rows the transaction already holds.
+     * In {@link InventoryMode#LEDGER} mode no book row is locked, so nothing is done.</p>
+     *
+     * @param bookIds The unique identifiers of the books to be locked.
+     */
+    @Override
+    @Transactional
+    public void lock(Collection<String> bookIds) {
+        if (inventoryMode != InventoryMode.LEDGER && !bookIds.isEmpty()) {
+            bookRepository.findAllForUpdateByIdIn(new TreeSet<>(bookIds));
+        }
+    }
+
+    /**
+     * Reserves stock by locking the requested books first.
+     * This method performs the following steps:
+     * 1. Locks every requested book with one {@code SELECT ... FOR UPDATE WHERE id IN (...)}.
+     * 2. Checks the stock of all books in memory, throwing before anything is changed.
+     * 3. Decrements the stock on the managed entities; Hibernate flushes the updates
+     * as one JDBC batch when the transaction commits.
+     *
+     * @param amountsByBookId The requested amounts, keyed and sorted by book id.
+     * @return A list of {@link OrderItemDTO} objects, one per reserved book, ordered by book id.
+     */
+    private List<OrderItemDTO> reserveWithLocks(SortedMap<String, Integer> amountsByBookId) {
+
+        final Map<String, Book> booksById = bookRepository
+                .findAllForUpdateByIdIn(amountsByBookId.keySet())
+                .stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+
+        amountsByBookId.forEach((bookId, amount) -> {
+            Book book = booksById.get(bookId);
+            if (book == null) {
+                throw new BookNotFoundException(bookId);
+            }
+            if (book.getStock() < amount) {
+                throw new NoAvailableStockException(amount);
+            }
+        });
+
+        amountsByBookId.forEach((bookId, amount) -> {
+            Book book = booksById.get(bookId);
+            book.setStock(book.getStock() - amount);
+        });
+
+        return toOrderItemDTOs(amountsByBookId, booksById);
+    }
+
+    /**
+     * Reserves stock with one guarded {@code UPDATE ... WHERE STOCK >= ?} per book.
+     * <p>No book row is read under a lock: the stock check and the decrement happen inside the
+     * same statement, and an affected row count of {@code 0} reveals an oversell. Readers of the
+     * book rows are never blocked, and the row lock taken by the {@code UPDATE} itself is the only
+     * one held until commit. A failed item throws, which rolls back the decrements already made.</p>
+     *
+     * @param amountsByBookId The requested amounts, keyed and sorted by book id.
+     * @return A list of {@link OrderItemDTO} objects, one per reserved book, ordered by book id.
+     */
+    private List<OrderItemDTO> reserveWithConditionalUpdates(SortedMap<String, Integer> amountsByBookId) {
+
+        amountsByBookId.forEach((bookId, amount) -> {
+            if (bookRepository.decrementStockIfAvailable(bookId, amount) == 0) {
+                if (!bookRepository.existsById(bookId)) {
+                    throw new BookNotFoundException(bookId);
+                }
+                throw new NoAvailableStockException(amount);
+            }
+        });
+
+        final Map<String, Book> booksById = bookRepository
+                .findAllById(amountsByBookId.keySet())
+                .stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+
+        return toOrderItemDTOs(amountsByBookId, booksById);
+    }
+
+    /**
+     * Reserves stock from the in-memory {@link InventoryLedger}.
+     * <p>The book rows are neither locked nor updated here: the ledger takes the amounts with
+     * CAS operations, journals them locally and writes the net deltas to the database later.
+     * The reservation is released again if the surrounding transaction rolls back.</p>
+     *
+     * @param amountsByBookId The requested amounts, keyed and sorted by book id.
+     * @return A list of {@link OrderItemDTO} objects, one per reserved book, ordered by book id.
+     */
+    private List<OrderItemDTO> reserveFromLedger(SortedMap<String, Integer> amountsByBookId) {
+
+        inventoryLedger.getObject().reserve(amountsByBookId);
+
+        final Map<String, Book> booksById = bookRepository
+                .findAllById(amountsByBookId.keySet())
+                .stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+
+        return toOrderItemDTOs(amountsByBookId, booksById);
+    }
+
+    /**
+     * Builds one order item per reserved book, snapshotting the reserved quantity, the current unit
+     * price of the book and the resulting line total, so that later price changes do not alter
+     * the order.
+     *
+     * @param amountsByBookId The reserved amounts, keyed and sorted by book id.
+     * @param booksById       The reserved books, keyed by book id.
+     * @return A list of {@link OrderItemDTO} objects, one per reserved book, ordered by book id.
+     */
+    private List<OrderItemDTO> toOrderItemDTOs(SortedMap<String, Integer> amountsByBookId, Map<String, Book> booksById) {
+        return amountsByBookId.entrySet().stream()
+                .map(entry -> {
+                    Book book = booksById.get(entry.getKey());
+                    int quantity = entry.getValue();
+                    return OrderItemMapper.toDTO(OrderItem.builder()
+                            .book(book)
+                            .quantity(quantity)
+                            .unitPrice(book.getPrice())
+                            .lineTotal(book.getPrice().multiply(BigDecimal.valueOf(quantity)))
+                            .build());
+                })
+                .toList();
+    }
+
+}
@@ -3,6 +3,7 @@ package com.springframework.bookdelivery.service.impl;
 import com.springframework.bookdelivery.entity.User;
 import com.springframework.bookdelivery.repository.UserRepository;
 import com.springframework.bookdelivery.service.UserService;
+import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -47,5 +48,21 @@ public class UserServiceImpl implements UserService {
         return userRepository.findByEmail(email);
     }
 
+    /**
+     * Replaces the encoded password of a user.
+     *
+     * @param email           The email address of the user.
+     * @param encodedPassword The new encoded password.
+     * @return An {@link Optional} containing the updated {@link User}, or an empty {@link Optional} if not found.
+     */
+    @Override
+    @Transactional
+    public Optional<User> updatePassword(String email, String encodedPassword) {
+        return userRepository.findByEmail(email)
+                .map(user -> {
+                    user.setPassword(encodedPassword);
+                    return userRepository.save(user);
+                });
+    }
 
 }
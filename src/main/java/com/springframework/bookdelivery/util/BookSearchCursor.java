@@ -0,0 +1,56 @@
+package com.springframework.bookdelivery.util;
+
+import com.springframework.bookdelivery.exception.book.InvalidBookSearchCursorException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * The position of a book in a search result ranked by {@code (score DESC, id)}.
+ * <p>The position is handed to clients as an opaque, URL-safe token. The score is kept as its raw
+ * bits, so the next page starts exactly after the position instead of skipping an offset.</p>
+ */
+@Getter
+@AllArgsConstructor
+public class BookSearchCursor {
+
+    private static final char SEPARATOR = '|';
+
+    private final float score;
+
+    private final String id;
+
+    /**
+     * Encodes this position as an opaque token.
+     *
+     * @return The token of this position.
+     */
+    public String encode() {
+        String value = Integer.toHexString(Float.floatToIntBits(score)) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token created by {@link #encode()}.
+     *
+     * @param cursor The token to be decoded.
+     * @return The position of the token.
+     * @throws InvalidBookSearchCursorException If the token has not been created by {@link #encode()}.
+     */
+    public static BookSearchCursor decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.indexOf(SEPARATOR);
+            if (separator < 0 || separator == value.length() - 1) {
+                throw new InvalidBookSearchCursorException(cursor);
+            }
+            return new BookSearchCursor(
+                    Float.intBitsToFloat(Integer.parseUnsignedInt(value.substring(0, separator), 16)),
+                    value.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidBookSearchCursorException(cursor);
+        }
+    }
+}
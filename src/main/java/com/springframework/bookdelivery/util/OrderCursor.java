@@ -0,0 +1,58 @@
+package com.springframework.bookdelivery.util;
+
+import com.springframework.bookdelivery.exception.order.InvalidOrderCursorException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * The position of an order in a listing sorted by {@code (createdAt, id)}.
+ * <p>The position is handed to clients as an opaque, URL-safe token. The next page starts right
+ * after the position, so it is found with an index seek instead of skipping an offset.</p>
+ */
+@Getter
+@AllArgsConstructor
+public class OrderCursor {
+
+    private static final char SEPARATOR = '|';
+
+    private final LocalDateTime createdAt;
+
+    private final Long id;
+
+    /**
+     * Encodes this position as an opaque token.
+     *
+     * @return The token of this position.
+     */
+    public String encode() {
+        String value = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token created by {@link #encode()}.
+     *
+     * @param cursor The token to be decoded.
+     * @return The position of the token.
+     * @throws InvalidOrderCursorException If the token has not been created by {@link #encode()}.
+     */
+    public static OrderCursor decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidOrderCursorException(cursor);
+            }
+            return new OrderCursor(
+                    LocalDateTime.parse(value.substring(0, separator)),
+                    Long.valueOf(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidOrderCursorException(cursor);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.springframework.bookdelivery.benchmark;
+
+import com.springframework.bookdelivery.entity.User;
+import com.springframework.bookdelivery.enums.AuthenticationMode;
+import com.springframework.bookdelivery.enums.Role;
+import com.springframework.bookdelivery.security.CustomUserDetails;
+import com.springframework.bookdelivery.security.CustomUserDetailsService;
+import com.springframework.bookdelivery.security.jwt.AuthTokenFilter;
+import com.springframework.bookdelivery.security.jwt.JwtTokenVerifier;
+import com.springframework.bookdelivery.security.jwt.JwtUtils;
+import com.springframework.bookdelivery.security.jwt.TokenDenyList;
+import com.springframework.bookdelivery.service.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Measures the throughput of {@link AuthTokenFilter} for a request with a valid bearer token, in both
+ * {@link AuthenticationMode authentication modes}.
+ * <p>In {@link AuthenticationMode#DATABASE} mode the user is loaded through {@link CustomUserDetailsService}
+ * and its user cache from a stubbed {@link UserService}, so no database is needed; the measured cost is
+ * token extraction, verification, principal creation and logging.</p>
+ * <p>Run it with {@code mvn -Pbenchmark test -Djmh.includes=AuthTokenFilterBenchmark}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthTokenFilterBenchmark {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    @Param({"STATELESS", "DATABASE"})
+    public String mode;
+
+    private AuthTokenFilter authTokenFilter;
+
+    private String authorizationHeader;
+
+    @Setup
+    public void setUp() {
+        JwtTokenVerifier jwtTokenVerifier = new JwtTokenVerifier();
+        ReflectionTestUtils.setField(jwtTokenVerifier, "jwtSecret", SECRET);
+        ReflectionTestUtils.invokeMethod(jwtTokenVerifier, "init");
+
+        TokenDenyList tokenDenyList = new TokenDenyList();
+        ReflectionTestUtils.setField(tokenDenyList, "enabled", true);
+        ReflectionTestUtils.setField(tokenDenyList, "maxSize", 1_000L);
+
+        JwtUtils jwtUtils = new JwtUtils(jwtTokenVerifier);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 600_000);
+
+        User user = User.builder()
+                .id(1L)
+                .username("benchmark")
+                .email("benchmark@bookdelivery.com")
+                .fullName("Benchmark User")
+                .role(Role.ROLE_CUSTOMER)
+                .build();
+        authorizationHeader = "Bearer " + jwtUtils.generateJwtToken(new CustomUserDetails(user));
+
+        UserService userService = mock(UserService.class);
+        when(userService.findByEmail(anyString())).thenReturn(Optional.of(user));
+        CustomUserDetailsService customUserDetailsService =
+                new CustomUserDetailsService(userService, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(customUserDetailsService, "userCacheMaxSize", 10_000L);
+        ReflectionTestUtils.setField(customUserDetailsService, "userCacheTtlMs", 300_000L);
+        ReflectionTestUtils.invokeMethod(customUserDetailsService, "createCache");
+
+        authTokenFilter = new AuthTokenFilter(jwtTokenVerifier, customUserDetailsService, tokenDenyList,
+                AuthenticationMode.valueOf(mode), 100);
+    }
+
+    @Benchmark
+    public void authenticate(Blackhole blackhole) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/books");
+        request.addHeader("Authorization", authorizationHeader);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        authTokenFilter.doFilter(request, response, new MockFilterChain());
+
+        blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+        SecurityContextHolder.clearContext();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AuthTokenFilterBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,84 @@
+package com.springframework.bookdelivery.benchmark;
+
+import com.springframework.bookdelivery.entity.User;
+import com.springframework.bookdelivery.enums.Role;
+import com.springframework.bookdelivery.security.jwt.JwtTokenVerifier;
+import com.springframework.bookdelivery.security.jwt.JwtUtils;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of the single {@link JwtUtils} operations on the authentication path:
+ * minting a token, validating it and extracting its claims.
+ * <p>Run it with {@code mvn -Pbenchmark test -Djmh.includes=JwtUtilsBenchmark}; the profile adds
+ * the GC profiler, whose {@code gc.alloc.rate.norm} shows the bytes allocated per operation.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtUtilsBenchmark {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private JwtUtils jwtUtils;
+
+    private Map<String, Object> claims;
+
+    private String subject;
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtTokenVerifier jwtTokenVerifier = new JwtTokenVerifier();
+        ReflectionTestUtils.setField(jwtTokenVerifier, "jwtSecret", SECRET);
+        ReflectionTestUtils.invokeMethod(jwtTokenVerifier, "init");
+
+        jwtUtils = new JwtUtils(jwtTokenVerifier);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 600_000);
+
+        User user = User.builder()
+                .id(1L)
+                .username("benchmark")
+                .email("benchmark@bookdelivery.com")
+                .fullName("Benchmark User")
+                .role(Role.ROLE_CUSTOMER)
+                .build();
+        claims = user.getClaims();
+        subject = user.getUsername();
+        token = jwtUtils.createToken(claims, subject);
+    }
+
+    @Benchmark
+    public String createToken() {
+        return jwtUtils.createToken(claims, subject);
+    }
+
+    @Benchmark
+    public boolean validateJwtToken() {
+        return jwtUtils.validateJwtToken(token);
+    }
+
+    @Benchmark
+    public Claims extractClaims() {
+        return jwtUtils.extractClaims(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtUtilsBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build())
+                .run();
+    }
+}
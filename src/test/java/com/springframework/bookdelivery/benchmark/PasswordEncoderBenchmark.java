@@ -0,0 +1,61 @@
+package com.springframework.bookdelivery.benchmark;
+
+import com.springframework.bookdelivery.security.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the latency distribution of a login password check for several BCrypt costs.
+ * <p>Eight benchmark threads play concurrent logins against a {@link BoundedPasswordEncoder} with
+ * four hashing threads, so the reported percentiles (look at {@code p0.99}) include the time a
+ * login waits for a hashing thread. Use it to pick {@code security.password.bcrypt-strength} and
+ * {@code security.password.hashing.threads} for the target hardware.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+
+    private static final String PASSWORD = "benchmark-password";
+
+    @Param({"8", "10", "12"})
+    private int strength;
+
+    private BoundedPasswordEncoder passwordEncoder;
+
+    private String encodedPassword;
+
+    @Setup
+    public void setUp() {
+        passwordEncoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), 4, 1_000, 60_000,
+                new SimpleMeterRegistry());
+        encodedPassword = passwordEncoder.encode(PASSWORD);
+    }
+
+    @TearDown
+    public void tearDown() {
+        passwordEncoder.shutdown();
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return passwordEncoder.matches(PASSWORD, encodedPassword);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PasswordEncoderBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
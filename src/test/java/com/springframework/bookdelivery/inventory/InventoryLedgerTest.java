@@ -0,0 +1,204 @@
+package com.springframework.bookdelivery.inventory;
+
+import com.springframework.bookdelivery.entity.Book;
+import com.springframework.bookdelivery.entity.InventoryJournalCheckpoint;
+import com.springframework.bookdelivery.exception.book.NoAvailableStockException;
+import com.springframework.bookdelivery.repository.BookRepository;
+import com.springframework.bookdelivery.repository.InventoryJournalCheckpointRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class InventoryLedgerTest {
+
+    private static final String BOOK_ID = "book";
+
+    @TempDir
+    Path directory;
+
+    private Book book;
+
+    private BookRepository bookRepository;
+
+    private InventoryJournalCheckpointRepository checkpointRepository;
+
+    private InventoryLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        book = Book.builder().id(BOOK_ID).stock(10).build();
+        bookRepository = mock(BookRepository.class);
+        when(bookRepository.findById(anyString())).thenAnswer(invocation -> Optional.of(book));
+        when(bookRepository.findAllForUpdateByIdIn(any())).thenAnswer(invocation -> List.of(book));
+
+        checkpointRepository = mock(InventoryJournalCheckpointRepository.class);
+        when(checkpointRepository.findById(anyString())).thenReturn(Optional.empty());
+
+        ledger = start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void reserveTakesStockAndFlushWritesItToTheDatabase() {
+        ledger.reserve(amount(3));
+
+        assertThat(ledger.available(BOOK_ID)).isEqualTo(7);
+        assertThat(book.getStock()).isEqualTo(10);
+
+        ledger.flush();
+
+        assertThat(book.getStock()).isEqualTo(7);
+    }
+
+    @Test
+    void reserveFailsWithoutTakingAnythingIfStockIsShort() {
+        assertThatThrownBy(() -> ledger.reserve(amount(11))).isInstanceOf(NoAvailableStockException.class);
+
+        assertThat(ledger.available(BOOK_ID)).isEqualTo(10);
+    }
+
+    @Test
+    void rolledBackReservationIsGivenBackAndNeverJournaled() {
+        TransactionSynchronizationManager.initSynchronization();
+        ledger.reserve(amount(4));
+        assertThat(ledger.available(BOOK_ID)).isEqualTo(6);
+
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(ledger.available(BOOK_ID)).isEqualTo(10);
+        ledger.flush();
+        assertThat(book.getStock()).isEqualTo(10);
+    }
+
+    @Test
+    void rolledBackAdjustmentIsTakenBack() {
+        TransactionSynchronizationManager.initSynchronization();
+        ledger.adjustTo(BOOK_ID, 25);
+        assertThat(ledger.available(BOOK_ID)).isEqualTo(25);
+
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(ledger.available(BOOK_ID)).isEqualTo(10);
+    }
+
+    @Test
+    void committedReservationIsReplayedAfterACrash() {
+        TransactionSynchronizationManager.initSynchronization();
+        ledger.reserve(amount(2));
+        TransactionSynchronizationUtils.triggerBeforeCommit(false);
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        // crash: the deltas never reached the database, a new ledger recovers them from the journal
+        start();
+
+        assertThat(book.getStock()).isEqualTo(8);
+    }
+
+    @Test
+    void reservationRolledBackAfterJournalingIsNettedOutOnReplay() {
+        TransactionSynchronizationManager.initSynchronization();
+        ledger.reserve(amount(3));
+        TransactionSynchronizationUtils.triggerBeforeCommit(false);
+
+        // the commit of the order fails after its reservation has been journaled
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertThat(ledger.available(BOOK_ID)).isEqualTo(10);
+
+        start();
+
+        assertThat(book.getStock()).isEqualTo(10);
+    }
+
+    @Test
+    void uncommittedReservationIsNotReplayedAfterACrash() {
+        TransactionSynchronizationManager.initSynchronization();
+        ledger.reserve(amount(2));
+
+        // crash before the order transaction completes
+        TransactionSynchronizationManager.clearSynchronization();
+        start();
+
+        assertThat(book.getStock()).isEqualTo(10);
+    }
+
+    @Test
+    void flushedDeltasAreNotReplayedAgain() {
+        ledger.reserve(amount(2));
+        ledger.flush();
+        when(checkpointRepository.findById(anyString()))
+                .thenReturn(Optional.of(new InventoryJournalCheckpoint("local", 1L)));
+
+        start();
+
+        assertThat(book.getStock()).isEqualTo(8);
+    }
+
+    @Test
+    void concurrentReservationsAreAllJournaledAndFlushed() throws InterruptedException {
+        book.setStock(1000);
+        ledger = start();
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        final CountDownLatch done = new CountDownLatch(200);
+        for (int i = 0; i < 200; i++) {
+            executor.execute(() -> {
+                ledger.reserve(amount(1));
+                done.countDown();
+            });
+        }
+
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+        ledger.flush();
+        assertThat(book.getStock()).isEqualTo(800);
+    }
+
+    private InventoryLedger start() {
+        InventoryLedger started = new InventoryLedger(bookRepository, checkpointRepository,
+                mock(PlatformTransactionManager.class));
+        started.nodeId = "local";
+        started.stripes = 4;
+        started.journalDirectory = directory.toString();
+        started.journalFsync = true;
+        started.recover();
+        return started;
+    }
+
+    private static SortedMap<String, Integer> amount(int amount) {
+        return new TreeMap<>(Map.of(BOOK_ID, amount));
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, status);
+    }
+}
@@ -0,0 +1,162 @@
+package com.springframework.bookdelivery.repository;
+
+import com.springframework.bookdelivery.dto.OrderDTO;
+import com.springframework.bookdelivery.entity.Book;
+import com.springframework.bookdelivery.entity.Order;
+import com.springframework.bookdelivery.entity.OrderItem;
+import com.springframework.bookdelivery.entity.User;
+import com.springframework.bookdelivery.enums.Role;
+import com.springframework.bookdelivery.payload.request.pagination.CursorFindAllRequest;
+import com.springframework.bookdelivery.payload.request.pagination.CursorPaginationRequest;
+import com.springframework.bookdelivery.payload.request.pagination.DateIntervalRequest;
+import com.springframework.bookdelivery.payload.request.pagination.PaginationRequest;
+import com.springframework.bookdelivery.security.CustomUserDetails;
+import com.springframework.bookdelivery.service.impl.OrderServiceImpl;
+import com.springframework.bookdelivery.util.Identity;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class OrderRepositoryTest {
+
+    private static final int ORDERS_PER_CUSTOMER = 30;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    private OrderServiceImpl orderService;
+
+    private User customer;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        User admin = entityManager.persist(user("admin", Role.ROLE_ADMIN));
+        customer = entityManager.persist(user("customer", Role.ROLE_CUSTOMER));
+        User otherCustomer = entityManager.persist(user("other", Role.ROLE_CUSTOMER));
+        List<Book> books = IntStream.range(0, 3)
+                .mapToObj(index -> entityManager.persist(Book.builder()
+                        .isbn("isbn-" + index)
+                        .name("Book " + index)
+                        .authorFullName("Author " + index)
+                        .stock(100)
+                        .price(BigDecimal.TEN)
+                        .build()))
+                .toList();
+
+        for (int index = 0; index < ORDERS_PER_CUSTOMER; index++) {
+            entityManager.persist(order(customer, books.get(index % 3), books.get((index + 1) % 3)));
+            entityManager.persist(order(otherCustomer, books.get(index % 3), books.get((index + 2) % 3)));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Identity identity = mock(Identity.class);
+        when(identity.getCustomUserDetails()).thenReturn(new CustomUserDetails(admin));
+        orderService = new OrderServiceImpl(orderRepository, orderItemRepository, identity);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void pageOfCustomerOrdersCostsSameNumberOfStatementsWhateverItsSize() {
+        assertThat(statementsForCustomerPage(5)).isEqualTo(statementsForCustomerPage(25));
+    }
+
+    @Test
+    void pageOfCustomerOrdersFetchesOrdersItemsAndCount() {
+        Page<OrderDTO> page = orderService.findAllOrdersByCustomerId(customer.getId(), new PaginationRequest(0, 25));
+        List<OrderDTO> orders = page.getContent();
+
+        assertThat(page.getTotalElements()).isEqualTo(ORDERS_PER_CUSTOMER);
+        assertThat(orders).hasSize(25);
+        assertThat(orders).allSatisfy(order -> {
+            assertThat(order.getUser().getId()).isEqualTo(customer.getId());
+            assertThat(order.getOrderItems()).hasSize(2);
+        });
+        // orders with users, items with books, count
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void sliceOfOrdersBetweenDatesFetchesOrdersAndItems() {
+        Slice<OrderDTO> slice = orderService.findAllOrdersBetweenTwoDates(CursorFindAllRequest.builder()
+                .dateIntervalRequest(new DateIntervalRequest(LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1)))
+                .cursorPaginationRequest(CursorPaginationRequest.builder().size(50).build())
+                .build());
+        List<OrderDTO> orders = slice.getContent();
+
+        assertThat(orders).hasSize(50);
+        assertThat(orders).allSatisfy(order -> assertThat(order.getOrderItems()).hasSize(2));
+        assertThat(slice.hasNext()).isTrue();
+        // orders with users, items with books
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    private long statementsForCustomerPage(int size) {
+        entityManager.clear();
+        statistics.clear();
+        List<OrderDTO> orders = orderService.findAllOrdersByCustomerId(customer.getId(),
+                CursorPaginationRequest.builder().size(size).build()).getContent();
+        assertThat(orders).hasSize(size);
+        return statistics.getPrepareStatementCount();
+    }
+
+    private static User user(String username, Role role) {
+        return User.builder()
+                .username(username)
+                .email(username + "@bookdelivery.com")
+                .fullName(username)
+                .password("password")
+                .role(role)
+                .build();
+    }
+
+    private static Order order(User user, Book... books) {
+        Order order = Order.builder()
+                .user(user)
+                .build();
+        order.setOrderItems(List.of(books).stream()
+                .map(book -> OrderItem.builder()
+                        .book(book)
+                        .quantity(1)
+                        .unitPrice(book.getPrice())
+                        .lineTotal(book.getPrice())
+                        .build())
+                .toList());
+        return order;
+    }
+}
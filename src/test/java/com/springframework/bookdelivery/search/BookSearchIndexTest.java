@@ -0,0 +1,128 @@
+package com.springframework.bookdelivery.search;
+
+import com.springframework.bookdelivery.dto.BookDTO;
+import com.springframework.bookdelivery.event.BookChangedEvent;
+import com.springframework.bookdelivery.repository.BookRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BookSearchIndexTest {
+
+    @TempDir
+    Path directory;
+
+    private BookRepository bookRepository;
+
+    private BookSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        bookRepository = mock(BookRepository.class);
+        when(bookRepository.findAllDTOs(any(Pageable.class))).thenReturn(Page.empty());
+
+        index = open();
+
+        index.onBookChanged(new BookChangedEvent("hobbit", "978-0-261-10221-7", "The Hobbit", "J. R. R. Tolkien"));
+        index.onBookChanged(new BookChangedEvent("silmarillion", "978-0-261-10273-6", "The Silmarillion", "J. R. R. Tolkien"));
+        index.onBookChanged(new BookChangedEvent("dune", "978-0-441-17271-9", "Dune", "Frank Herbert"));
+    }
+
+    private BookSearchIndex open() {
+        BookSearchIndex opened = new BookSearchIndex(bookRepository);
+        opened.directory = directory.toString();
+        opened.catchUpOverlapMs = 60000;
+        opened.open();
+        return opened;
+    }
+
+    @AfterEach
+    void tearDown() {
+        index.close();
+    }
+
+    @Test
+    void findsBooksByPrefixOfTheName() {
+        assertThat(index.search("silma", null, 10).getBookIds()).containsExactly("silmarillion");
+    }
+
+    @Test
+    void findsBooksByMisspelledAuthor() {
+        assertThat(index.search("tolkein", null, 10).getBookIds())
+                .containsExactlyInAnyOrder("hobbit", "silmarillion");
+    }
+
+    @Test
+    void findsBooksByIsbnWithoutHyphens() {
+        assertThat(index.search("9780441", null, 10).getBookIds()).containsExactly("dune");
+    }
+
+    @Test
+    void requiresEveryWordToMatch() {
+        assertThat(index.search("hobbit tolkien", null, 10).getBookIds()).containsExactly("hobbit");
+        assertThat(index.search("the", null, 10).getBookIds()).hasSize(2);
+    }
+
+    @Test
+    void updatedBookReplacesItsPreviousVersion() {
+        index.onBookChanged(new BookChangedEvent("dune", "978-0-441-17271-9", "Dune Messiah", "Frank Herbert"));
+
+        assertThat(index.search("messiah", null, 10).getBookIds()).containsExactly("dune");
+        assertThat(index.search("herbert", null, 10).getBookIds()).containsExactly("dune");
+    }
+
+    @Test
+    void pagesThroughEveryHitOnceWithTheCursor() {
+        IntStream.range(0, 12).forEach(number -> index.onBookChanged(
+                new BookChangedEvent("tale-" + number, "isbn-" + number, "Tale " + number, "Anonymous")));
+
+        List<String> bookIds = new ArrayList<>();
+        BookSearchIndex.Hits hits = index.search("tale", null, 5);
+        bookIds.addAll(hits.getBookIds());
+        while (hits.isHasNext()) {
+            hits = index.search("tale", hits.getNextCursor(), 5);
+            bookIds.addAll(hits.getBookIds());
+        }
+
+        assertThat(bookIds).hasSize(12).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void reindexesBooksChangedSinceTheLastCommitOnStart() {
+        LocalDateTime committedUpTo = LocalDateTime.of(2023, 11, 1, 12, 0);
+        when(bookRepository.findLastChangedAt()).thenReturn(Optional.of(committedUpTo));
+        index.commit();
+        index.close();
+
+        when(bookRepository.findLastChangedAt()).thenReturn(Optional.of(committedUpTo.plusMinutes(5)));
+        when(bookRepository.findAllDTOsChangedSince(eq(committedUpTo.minusMinutes(1)), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(new BookDTO("emma", "978-0-14-143958-7", "Emma",
+                        "Jane Austen", BigDecimal.TEN, 3))));
+        index = open();
+        index.catchUpOnStart();
+
+        assertThat(index.search("austen", null, 10).getBookIds()).containsExactly("emma");
+        assertThat(index.search("tolkien", null, 10).getBookIds()).hasSize(2);
+        verify(bookRepository, times(1)).findAllDTOs(any(Pageable.class));
+    }
+}
@@ -0,0 +1,60 @@
+package com.springframework.bookdelivery.service.impl;
+
+import com.springframework.bookdelivery.entity.User;
+import com.springframework.bookdelivery.security.token.RefreshTokenEntry;
+import com.springframework.bookdelivery.security.token.RefreshTokenStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RefreshTokenServiceImplTest {
+
+    private static final long EXPIRE_MS = 120_000L;
+
+    private RefreshTokenStore refreshTokenStore;
+
+    private RefreshTokenServiceImpl refreshTokenService;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenStore = mock(RefreshTokenStore.class);
+        refreshTokenService = new RefreshTokenServiceImpl(refreshTokenStore);
+        refreshTokenService.expireMs = EXPIRE_MS;
+    }
+
+    @Test
+    void createdTokenExpiresAfterTheConfiguredMilliseconds() {
+        final Instant before = Instant.now();
+
+        refreshTokenService.createRefreshToken(User.builder().id(1L).build());
+
+        ArgumentCaptor<Instant> expiresAt = ArgumentCaptor.forClass(Instant.class);
+        verify(refreshTokenStore).save(any(User.class), anyString(), expiresAt.capture());
+        assertThat(expiresAt.getValue())
+                .isBetween(before.plusMillis(EXPIRE_MS), Instant.now().plusMillis(EXPIRE_MS));
+    }
+
+    @Test
+    void extendedTokenExpiresAfterTheConfiguredMilliseconds() {
+        final RefreshTokenEntry entry = RefreshTokenEntry.builder().tokenHash("hash").userId(1L).build();
+        when(refreshTokenStore.extend(eq(entry), any(Instant.class))).thenReturn(1);
+        final Instant before = Instant.now();
+
+        assertThat(refreshTokenService.extendRefreshToken(entry)).isTrue();
+
+        ArgumentCaptor<Instant> expiresAt = ArgumentCaptor.forClass(Instant.class);
+        verify(refreshTokenStore).extend(eq(entry), expiresAt.capture());
+        assertThat(expiresAt.getValue())
+                .isBetween(before.plusMillis(EXPIRE_MS), Instant.now().plusMillis(EXPIRE_MS));
+    }
+}